@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.eclipse.dataspaceconnector.spi.iam.TokenParameters;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+
+/**
+ * Caches access tokens issued by the identity provider per scope and audience.
+ *
+ * <p>A token is handed out until {@link #expiryLeeway} before it expires. After three quarters of
+ * that time a refresh is started in the background, so callers usually never wait for the identity
+ * provider. A failed refresh keeps the token and is retried after a sixteenth of that time, so a
+ * refresh is attempted up to four times before the token is no longer handed out. Concurrent
+ * callers for the same scope and audience share one in-flight request.
+ */
+@RequiredArgsConstructor
+public class AccessTokenCache {
+  private static final long REFRESH_AHEAD_NUMERATOR = 3;
+  private static final long REFRESH_AHEAD_DENOMINATOR = 4;
+
+  @NonNull private final Clock clock;
+
+  @NonNull private final Duration expiryLeeway;
+
+  /** Executor the background refreshes are started on. */
+  @NonNull private final Executor refreshExecutor;
+
+  private final Map<CacheKey, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Returns a cached token for the given parameters, or requests one with the loader.
+   *
+   * @param tokenParameters scope and audience of the token
+   * @param loader requests a new token from the identity provider
+   * @return the access token or the failure of the loader
+   */
+  public CompletableFuture<Result<AccessToken>> get(
+      @NonNull final TokenParameters tokenParameters,
+      @NonNull final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader) {
+    final Entry entry =
+        entries.computeIfAbsent(
+            new CacheKey(tokenParameters.getScope(), tokenParameters.getAudience()),
+            key -> new Entry());
+
+    final Instant now = clock.instant();
+    final CachedAccessToken cachedAccessToken = entry.cachedAccessToken;
+    if (cachedAccessToken != null && now.isBefore(cachedAccessToken.getUsableUntil())) {
+      if (!now.isBefore(cachedAccessToken.getRefreshAt())) {
+        refreshExecutor.execute(() -> load(entry, tokenParameters, loader));
+      }
+
+      return CompletableFuture.completedFuture(Result.success(cachedAccessToken.getAccessToken()));
+    }
+
+    return load(entry, tokenParameters, loader);
+  }
+
+  private CompletableFuture<Result<AccessToken>> load(
+      final Entry entry,
+      final TokenParameters tokenParameters,
+      final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader) {
+    final CompletableFuture<Result<AccessToken>> load = new CompletableFuture<>();
+    final CompletableFuture<Result<AccessToken>> inFlightLoad =
+        entry.inFlightLoad.compareAndExchange(null, load);
+    if (inFlightLoad != null) {
+      return inFlightLoad;
+    }
+
+    final Instant requestedAt = clock.instant();
+    CompletableFuture<Result<AccessToken>> response;
+    try {
+      response = loader.apply(tokenParameters);
+    } catch (final RuntimeException runtimeException) {
+      response = CompletableFuture.failedFuture(runtimeException);
+    }
+
+    response.whenComplete(
+        (result, throwable) -> {
+          if (throwable == null && result.succeeded()) {
+            entry.cachedAccessToken = cache(result.getContent(), requestedAt);
+          } else {
+            entry.cachedAccessToken = retryLater(entry.cachedAccessToken);
+          }
+
+          entry.inFlightLoad.set(null);
+
+          if (throwable != null) {
+            load.completeExceptionally(throwable);
+          } else {
+            load.complete(result);
+          }
+        });
+
+    return load;
+  }
+
+  private CachedAccessToken cache(final AccessToken accessToken, final Instant requestedAt) {
+    final Duration expiresIn = accessToken.getExpiresIn();
+    if (expiresIn == null) {
+      return null;
+    }
+
+    final Duration usableFor = expiresIn.minus(expiryLeeway);
+    final Duration refreshAfter =
+        usableFor.multipliedBy(REFRESH_AHEAD_NUMERATOR).dividedBy(REFRESH_AHEAD_DENOMINATOR);
+
+    final Duration retryDelay = usableFor.minus(refreshAfter).dividedBy(REFRESH_AHEAD_DENOMINATOR);
+
+    return new CachedAccessToken(
+        accessToken, requestedAt.plus(refreshAfter), requestedAt.plus(usableFor), retryDelay);
+  }
+
+  /** Keeps the cached token after a failed load, its refresh is retried after the retry delay. */
+  private CachedAccessToken retryLater(final CachedAccessToken cachedAccessToken) {
+    if (cachedAccessToken == null) {
+      return null;
+    }
+
+    return cachedAccessToken.withRefreshAt(clock.instant().plus(cachedAccessToken.getRetryDelay()));
+  }
+
+  @Value
+  public static class AccessToken {
+    @NonNull String token;
+
+    /** Lifetime announced by the identity provider, or null if none was returned. */
+    Duration expiresIn;
+  }
+
+  @Value
+  private static class CachedAccessToken {
+    AccessToken accessToken;
+    Instant refreshAt;
+    Instant usableUntil;
+
+    /** Delay until a failed refresh is retried. */
+    Duration retryDelay;
+
+    CachedAccessToken withRefreshAt(final Instant refreshAt) {
+      return new CachedAccessToken(accessToken, refreshAt, usableUntil, retryDelay);
+    }
+  }
+
+  @Value
+  private static class CacheKey {
+    String scope;
+    String audience;
+  }
+
+  private static class Entry {
+    private final AtomicReference<CompletableFuture<Result<AccessToken>>> inFlightLoad =
+        new AtomicReference<>();
+    private volatile CachedAccessToken cachedAccessToken;
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
+import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecoratorRegistry;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenGenerationService;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Client assertions signed ahead of the DAPS token requests, so that token requests usually do not
+ * wait for a private key operation.
+ *
+ * <p>Every assertion is handed out once, each with a jti of its own. Assertions are discarded
+ * {@link #maximumAge} after they were signed, so the DAPS only receives recently issued
+ * assertions, and {@link #expiryLeeway} before their expiration, so the DAPS does not receive
+ * expired assertions. Taking an assertion refills the pool in the background. If the pool is
+ * empty, the assertion is signed on the calling thread.
+ */
+public class ClientAssertionPool {
+  private static final String METRIC_TAKE = "edc.oauth2.assertion.pool.take";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String OUTCOME_POOLED = "pooled";
+  private static final String OUTCOME_SIGNED = "signed";
+
+  private final TokenGenerationService tokenGenerationService;
+  private final JwtDecoratorRegistry jwtDecoratorRegistry;
+  private final Clock clock;
+  private final int size;
+  @Getter private final Duration maximumAge;
+  private final Duration expiryLeeway;
+
+  /** Executor the pool is refilled on. */
+  private final Executor signingExecutor;
+
+  private final Counter pooledCounter;
+  private final Counter signedCounter;
+
+  private final Queue<PooledAssertion> assertions = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean filling = new AtomicBoolean();
+
+  public ClientAssertionPool(
+      @NonNull final TokenGenerationService tokenGenerationService,
+      @NonNull final JwtDecoratorRegistry jwtDecoratorRegistry,
+      @NonNull final Clock clock,
+      final int size,
+      @NonNull final Duration maximumAge,
+      @NonNull final Duration expiryLeeway,
+      @NonNull final Executor signingExecutor,
+      @NonNull final MeterRegistry meterRegistry) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Pool size must be at least 1: " + size);
+    }
+    if (maximumAge.toSeconds() < 1) {
+      throw new IllegalArgumentException("Maximum age must be at least 1 second: " + maximumAge);
+    }
+
+    this.tokenGenerationService = tokenGenerationService;
+    this.jwtDecoratorRegistry = jwtDecoratorRegistry;
+    this.clock = clock;
+    this.size = size;
+    this.maximumAge = maximumAge;
+    this.expiryLeeway = expiryLeeway;
+    this.signingExecutor = signingExecutor;
+
+    this.pooledCounter = counter(OUTCOME_POOLED, meterRegistry);
+    this.signedCounter = counter(OUTCOME_SIGNED, meterRegistry);
+  }
+
+  private static Counter counter(final String outcome, final MeterRegistry meterRegistry) {
+    return Counter.builder(METRIC_TAKE).tag(TAG_OUTCOME, outcome).register(meterRegistry);
+  }
+
+  /** Takes a pooled assertion, or signs one if none is left. */
+  public Result<TokenRepresentation> take() {
+    final Instant now = clock.instant();
+
+    PooledAssertion pooledAssertion;
+    while ((pooledAssertion = assertions.poll()) != null) {
+      if (isFresh(pooledAssertion, now)) {
+        fill();
+        pooledCounter.increment();
+        return Result.success(pooledAssertion.getTokenRepresentation());
+      }
+    }
+
+    fill();
+    signedCounter.increment();
+    return sign();
+  }
+
+  /** Discards outdated assertions and signs new ones in the background until the pool is full. */
+  public void fill() {
+    if (!filling.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      signingExecutor.execute(this::fillPool);
+    } catch (final RejectedExecutionException rejectedExecutionException) {
+      filling.set(false);
+    }
+  }
+
+  private void fillPool() {
+    try {
+      final Instant now = clock.instant();
+      assertions.removeIf(pooledAssertion -> !isFresh(pooledAssertion, now));
+
+      while (assertions.size() < size) {
+        final JwtDecorator[] decorators = decorators();
+        final Instant signedAt = clock.instant();
+        // read before signing, so never later than the expiration of the signed assertion
+        final Instant expiresAt = expiresAt(decorators);
+        final Result<TokenRepresentation> result = tokenGenerationService.generate(decorators);
+        if (result.failed()) {
+          // the failure is reported to the next caller signing on its own thread
+          return;
+        }
+
+        final PooledAssertion pooledAssertion =
+            new PooledAssertion(result.getContent(), signedAt, expiresAt);
+        if (!isFresh(pooledAssertion, clock.instant())) {
+          // assertions expire within the leeway, every pooled assertion would be discarded
+          return;
+        }
+
+        assertions.add(pooledAssertion);
+      }
+    } finally {
+      filling.set(false);
+    }
+  }
+
+  private Result<TokenRepresentation> sign() {
+    return tokenGenerationService.generate(decorators());
+  }
+
+  private JwtDecorator[] decorators() {
+    return jwtDecoratorRegistry.getAll().toArray(JwtDecorator[]::new);
+  }
+
+  /** Returns the earliest expiration claimed by the decorators, null if none claims one. */
+  private static @Nullable Instant expiresAt(final JwtDecorator[] decorators) {
+    Instant expiresAt = null;
+    for (final JwtDecorator decorator : decorators) {
+      final Object expirationTime = decorator.claims().get(JWTClaimNames.EXPIRATION_TIME);
+      if (expirationTime instanceof Date) {
+        final Instant instant = ((Date) expirationTime).toInstant();
+        expiresAt = expiresAt == null || instant.isBefore(expiresAt) ? instant : expiresAt;
+      }
+    }
+    return expiresAt;
+  }
+
+  private boolean isFresh(final PooledAssertion pooledAssertion, final Instant now) {
+    final Instant expiresAt = pooledAssertion.getExpiresAt();
+    return now.isBefore(pooledAssertion.getSignedAt().plus(maximumAge))
+        && (expiresAt == null || now.isBefore(expiresAt.minus(expiryLeeway)));
+  }
+
+  @Value
+  private static class PooledAssertion {
+    TokenRepresentation tokenRepresentation;
+    Instant signedAt;
+    @Nullable Instant expiresAt;
+  }
+}
@@ -13,10 +13,18 @@
  */
 package net.catenax.edc.oauth2;
 
+import io.micrometer.core.instrument.Metrics;
 import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
 import lombok.Setter;
-import okhttp3.OkHttpClient;
+import net.catenax.edc.oauth2.http.IdentityHttpClient;
 import org.eclipse.dataspaceconnector.iam.oauth2.spi.Oauth2JwtDecoratorRegistry;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.EdcSetting;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Inject;
@@ -28,10 +36,12 @@ import org.eclipse.dataspaceconnector.spi.jwt.TokenGenerationService;
 import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationService;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.jetbrains.annotations.Nullable;
 
 @Provides(IdentityService.class)
 @Requires({
-  OkHttpClient.class,
+  IdentityHttpClient.class,
+  Clock.class,
   Oauth2JwtDecoratorRegistry.class,
   TokenGenerationService.class,
   TokenValidationService.class
@@ -42,7 +52,30 @@ public class OAuth2Extension implements ServiceExtension {
 
   @EdcSetting private static final String PROVIDER_AUDIENCE = "edc.oauth.provider.audience";
 
-  @Inject @Setter private OkHttpClient okHttpClient;
+  @EdcSetting
+  private static final String TOKEN_CACHE_EXPIRY_LEEWAY =
+      "edc.oauth.token.cache.expiry.leeway"; // in seconds
+
+  private static final Duration DEFAULT_TOKEN_CACHE_EXPIRY_LEEWAY = Duration.ofSeconds(30);
+
+  @EdcSetting private static final String ASSERTION_POOL_SIZE = "edc.oauth.assertion.pool.size";
+  private static final int DEFAULT_ASSERTION_POOL_SIZE = 0;
+
+  @EdcSetting
+  private static final String ASSERTION_POOL_MAX_AGE =
+      "edc.oauth.assertion.pool.max.age"; // in seconds
+
+  private static final Duration DEFAULT_ASSERTION_POOL_MAX_AGE = Duration.ofSeconds(30);
+
+  @EdcSetting
+  private static final String ASSERTION_POOL_EXPIRY_LEEWAY =
+      "edc.oauth.assertion.pool.expiry.leeway"; // in seconds
+
+  private static final Duration DEFAULT_ASSERTION_POOL_EXPIRY_LEEWAY = Duration.ofSeconds(10);
+
+  @Inject @Setter private IdentityHttpClient identityHttpClient;
+
+  @Inject @Setter private Clock clock;
 
   @Inject @Setter private Oauth2JwtDecoratorRegistry jwtDecoratorRegistry;
 
@@ -50,6 +83,12 @@ public class OAuth2Extension implements ServiceExtension {
 
   @Inject @Setter private TokenValidationService tokenValidationService;
 
+  private ExecutorService tokenRefreshExecutorService;
+
+  private ScheduledExecutorService assertionPoolExecutorService;
+
+  private ClientAssertionPool clientAssertionPool;
+
   @Override
   public void initialize(@NonNull final ServiceExtensionContext serviceExtensionContext) {
     final String tokenUrl = serviceExtensionContext.getSetting(TOKEN_URL, null);
@@ -59,15 +98,78 @@ public class OAuth2Extension implements ServiceExtension {
 
     final URI tokenUri = URI.create(tokenUrl);
 
+    final Duration expiryLeeway =
+        Duration.ofSeconds(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(TOKEN_CACHE_EXPIRY_LEEWAY, DEFAULT_TOKEN_CACHE_EXPIRY_LEEWAY.toSeconds()));
+
+    this.tokenRefreshExecutorService = Executors.newSingleThreadExecutor();
+    this.clientAssertionPool = clientAssertionPool(serviceExtensionContext);
+    final AccessTokenCache accessTokenCache =
+        new AccessTokenCache(clock, expiryLeeway, tokenRefreshExecutorService);
+
     final OAuth2IdentityService oAuth2IdentityService =
         new OAuth2IdentityService(
             tokenUri,
-            okHttpClient,
+            identityHttpClient.getOkHttpClient(),
             serviceExtensionContext.getTypeManager(),
             jwtDecoratorRegistry,
             tokenGenerationService,
-            tokenValidationService);
+            tokenValidationService,
+            accessTokenCache,
+            clientAssertionPool,
+            Metrics.globalRegistry);
 
     serviceExtensionContext.registerService(IdentityService.class, oAuth2IdentityService);
   }
+
+  @Override
+  public void start() {
+    if (clientAssertionPool != null) {
+      // replaces outdated assertions also while no tokens are requested
+      final long fillPeriod = clientAssertionPool.getMaximumAge().toMillis() / 2;
+      assertionPoolExecutorService.scheduleAtFixedRate(
+          clientAssertionPool::fill, 0, fillPeriod, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    Optional.ofNullable(tokenRefreshExecutorService).ifPresent(ExecutorService::shutdownNow);
+    Optional.ofNullable(assertionPoolExecutorService).ifPresent(ExecutorService::shutdownNow);
+  }
+
+  private @Nullable ClientAssertionPool clientAssertionPool(
+      final ServiceExtensionContext serviceExtensionContext) {
+    final int size =
+        serviceExtensionContext.getSetting(ASSERTION_POOL_SIZE, DEFAULT_ASSERTION_POOL_SIZE);
+    if (size <= 0) {
+      return null;
+    }
+
+    final Duration maximumAge =
+        Duration.ofSeconds(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(ASSERTION_POOL_MAX_AGE, DEFAULT_ASSERTION_POOL_MAX_AGE.toSeconds()));
+    final Duration expiryLeeway =
+        Duration.ofSeconds(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(
+                    ASSERTION_POOL_EXPIRY_LEEWAY,
+                    DEFAULT_ASSERTION_POOL_EXPIRY_LEEWAY.toSeconds()));
+
+    this.assertionPoolExecutorService = Executors.newSingleThreadScheduledExecutor();
+    return new ClientAssertionPool(
+        tokenGenerationService,
+        jwtDecoratorRegistry,
+        clock,
+        size,
+        maximumAge,
+        expiryLeeway,
+        assertionPoolExecutorService,
+        Metrics.globalRegistry);
+  }
 }
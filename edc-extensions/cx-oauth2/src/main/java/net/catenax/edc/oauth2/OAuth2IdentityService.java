@@ -18,11 +18,21 @@
 
 package net.catenax.edc.oauth2;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import net.catenax.edc.oauth2.AccessTokenCache.AccessToken;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.FormBody;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
@@ -40,6 +50,7 @@ import org.eclipse.dataspaceconnector.spi.jwt.TokenGenerationService;
 import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationService;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.jetbrains.annotations.Nullable;
 
 @RequiredArgsConstructor
 public class OAuth2IdentityService implements IdentityService {
@@ -55,6 +66,15 @@ public class OAuth2IdentityService implements IdentityService {
   private static final String GRANT_TYPE = "grant_type";
   private static final String CLIENT_ASSERTION = "client_assertion";
   private static final String SCOPE = "scope";
+  private static final String ACCESS_TOKEN = "access_token";
+  private static final String EXPIRES_IN = "expires_in";
+
+  private static final String METRIC_TOKEN_REQUEST = "edc.oauth2.daps.token.request";
+  private static final String TAG_STATUS = "status";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String STATUS_NONE = "none";
+  private static final String OUTCOME_SUCCESS = "success";
+  private static final String OUTCOME_FAILURE = "failure";
 
   @NonNull private final URI tokenUrl;
   @NonNull private final OkHttpClient httpClient;
@@ -62,14 +82,58 @@ public class OAuth2IdentityService implements IdentityService {
   @NonNull private final JwtDecoratorRegistry jwtDecoratorRegistry;
   @NonNull private final TokenGenerationService tokenGenerationService;
   @NonNull private final TokenValidationService tokenValidationService;
+  @NonNull private final AccessTokenCache accessTokenCache;
+
+  /** Pre-signed client assertions, signed on the requesting thread if {@code null}. */
+  @Nullable private final ClientAssertionPool clientAssertionPool;
+
+  @NonNull private final MeterRegistry meterRegistry;
 
   @Override
   public Result<TokenRepresentation> obtainClientCredentials(
       @NonNull final TokenParameters tokenParameters) {
-    final Result<TokenRepresentation> jwtCreationResult =
-        tokenGenerationService.generate(jwtDecoratorRegistry.getAll().toArray(JwtDecorator[]::new));
+    try {
+      return obtainClientCredentialsAsync(tokenParameters).join();
+    } catch (final CompletionException completionException) {
+      if (completionException.getCause() instanceof EdcException) {
+        throw (EdcException) completionException.getCause();
+      }
+      throw new EdcException(completionException.getCause());
+    }
+  }
+
+  /**
+   * Obtains client credentials without blocking the calling thread while the DAPS is requested.
+   *
+   * @param tokenParameters scope and audience of the requested token
+   * @return future completed with the token, or exceptionally with an {@link EdcException} if the
+   *     DAPS could not be reached
+   */
+  public CompletableFuture<Result<TokenRepresentation>> obtainClientCredentialsAsync(
+      @NonNull final TokenParameters tokenParameters) {
+    return accessTokenCache
+        .get(tokenParameters, this::requestAccessToken)
+        .thenApply(
+            accessTokenResult -> {
+              if (accessTokenResult.failed()) {
+                return Result.failure(accessTokenResult.getFailureMessages());
+              }
+
+              final TokenRepresentation tokenRepresentation =
+                  TokenRepresentation.Builder.newInstance()
+                      .token(accessTokenResult.getContent().getToken())
+                      .build();
+
+              return Result.success(tokenRepresentation);
+            });
+  }
+
+  private CompletableFuture<Result<AccessToken>> requestAccessToken(
+      @NonNull final TokenParameters tokenParameters) {
+    final Result<TokenRepresentation> jwtCreationResult = clientAssertion();
     if (jwtCreationResult.failed()) {
-      return jwtCreationResult;
+      return CompletableFuture.completedFuture(
+          Result.failure(jwtCreationResult.getFailureMessages()));
     }
 
     final String assertion = jwtCreationResult.getContent().getToken();
@@ -82,6 +146,8 @@ public class OAuth2IdentityService implements IdentityService {
             .add(SCOPE, tokenParameters.getScope())
             .add(RESOURCE, tokenParameters.getAudience());
 
+    final CompletableFuture<Result<AccessToken>> accessTokenFuture = new CompletableFuture<>();
+    final long start = System.nanoTime();
     try {
       final HttpUrl httpUrl = Objects.requireNonNull(HttpUrl.get(tokenUrl));
       final Request request =
@@ -91,32 +157,86 @@ public class OAuth2IdentityService implements IdentityService {
               .post(requestBodyBuilder.build())
               .build();
 
-      try (final Response response = httpClient.newCall(request).execute()) {
-        try (final ResponseBody responseBody = response.body()) {
-          if (!response.isSuccessful()) {
-            final String message = responseBody == null ? "<empty body>" : responseBody.string();
-            return Result.failure(message);
-          }
+      httpClient
+          .newCall(request)
+          .enqueue(
+              new Callback() {
+                @Override
+                public void onFailure(final Call call, final IOException e) {
+                  recordTokenRequest(start, STATUS_NONE, false);
+                  accessTokenFuture.completeExceptionally(new EdcException(e));
+                }
+
+                @Override
+                public void onResponse(final Call call, final Response response) {
+                  final String status = String.valueOf(response.code());
+                  try {
+                    final Result<AccessToken> accessToken = readAccessToken(response);
+                    recordTokenRequest(start, status, accessToken.succeeded());
+                    accessTokenFuture.complete(accessToken);
+                  } catch (final Exception exception) {
+                    recordTokenRequest(start, status, false);
+                    accessTokenFuture.completeExceptionally(new EdcException(exception));
+                  }
+                }
+              });
+    } catch (final Exception exception) {
+      recordTokenRequest(start, STATUS_NONE, false);
+      accessTokenFuture.completeExceptionally(new EdcException(exception));
+    }
+
+    return accessTokenFuture;
+  }
 
-          if (responseBody == null) {
-            return Result.failure("<empty token body>");
-          }
+  private Result<TokenRepresentation> clientAssertion() {
+    if (clientAssertionPool != null) {
+      return clientAssertionPool.take();
+    }
 
-          final String responsePayload = responseBody.string();
+    return tokenGenerationService.generate(
+        jwtDecoratorRegistry.getAll().toArray(JwtDecorator[]::new));
+  }
 
-          @SuppressWarnings("rawtypes")
-          LinkedHashMap deserialized = typeManager.readValue(responsePayload, LinkedHashMap.class);
+  /** Records the round trip to the DAPS, from sending the request until the token was read. */
+  private void recordTokenRequest(final long start, final String status, final boolean succeeded) {
+    Timer.builder(METRIC_TOKEN_REQUEST)
+        .tag(TAG_STATUS, status)
+        .tag(TAG_OUTCOME, succeeded ? OUTCOME_SUCCESS : OUTCOME_FAILURE)
+        .register(meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
 
-          final String token = (String) deserialized.get("access_token");
+  private Result<AccessToken> readAccessToken(final Response response) throws IOException {
+    try (final ResponseBody responseBody = response.body()) {
+      if (!response.isSuccessful()) {
+        final String message = responseBody == null ? "<empty body>" : responseBody.string();
+        return Result.failure(message);
+      }
 
-          final TokenRepresentation tokenRepresentation =
-              TokenRepresentation.Builder.newInstance().token(token).build();
+      if (responseBody == null) {
+        return Result.failure("<empty token body>");
+      }
+
+      final String responsePayload = responseBody.string();
+
+      @SuppressWarnings("rawtypes")
+      LinkedHashMap deserialized = typeManager.readValue(responsePayload, LinkedHashMap.class);
 
-          return Result.success(tokenRepresentation);
-        }
+      final String token = (String) deserialized.get(ACCESS_TOKEN);
+      if (token == null) {
+        return Result.failure("<missing access token>");
       }
-    } catch (final Exception exception) {
-      throw new EdcException(exception);
+
+      final Object expiresIn = deserialized.get(EXPIRES_IN);
+
+      return Result.success(
+          new AccessToken(
+              token,
+              expiresIn instanceof Number
+                  ? Duration.ofSeconds(((Number) expiresIn).longValue())
+                  : null));
+    } finally {
+      response.close();
     }
   }
 
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+
+/**
+ * Log of an event occurring on every request, e.g. a received token. Every occurrence is counted,
+ * but only the first of each sample of occurrences is written to the monitor, and at most one per
+ * interval. Messages are only built for occurrences that are written, and state the number of
+ * occurrences suppressed since the previous one. With a sample rate of 1 the log is rate-limited
+ * only, e.g. for failures that must not go unnoticed.
+ *
+ * <p>xsuaa-authenticator does not depend on cx-oauth2 and holds a copy of this class. The copy in
+ * cx-oauth2 is the canonical one, both are kept identical apart from the package.
+ */
+public class SampledLog {
+  public static final long DEFAULT_SAMPLE_RATE = 1000;
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+
+  private final Monitor monitor;
+  private final long sampleRate;
+  private final long intervalNanos;
+  private final LongSupplier nanoTime;
+
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong lastWritten;
+  private final AtomicLong lastWrittenOccurrence = new AtomicLong();
+
+  public SampledLog(final Monitor monitor, final long sampleRate, final Duration interval) {
+    this(monitor, sampleRate, interval, System::nanoTime);
+  }
+
+  SampledLog(
+      final Monitor monitor,
+      final long sampleRate,
+      final Duration interval,
+      final LongSupplier nanoTime) {
+    if (sampleRate < 1) {
+      throw new IllegalArgumentException("Sample rate must be at least 1: " + sampleRate);
+    }
+
+    this.monitor = Objects.requireNonNull(monitor, "monitor");
+    this.sampleRate = sampleRate;
+    this.intervalNanos = Objects.requireNonNull(interval, "interval").toNanos();
+    this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime");
+    this.lastWritten = new AtomicLong(nanoTime.getAsLong() - intervalNanos);
+  }
+
+  /** Number of occurrences, including those not written to the monitor. */
+  public long getCount() {
+    return count.get();
+  }
+
+  public void info(final Supplier<String> message) {
+    final long occurrence = sample();
+    if (occurrence > 0) {
+      monitor.info(message(message, occurrence));
+    }
+  }
+
+  public void warning(final Supplier<String> message, final Throwable... errors) {
+    final long occurrence = sample();
+    if (occurrence > 0) {
+      monitor.warning(message(message, occurrence), errors);
+    }
+  }
+
+  public void severe(final Supplier<String> message, final Throwable... errors) {
+    final long occurrence = sample();
+    if (occurrence > 0) {
+      monitor.severe(message(message, occurrence), errors);
+    }
+  }
+
+  /** Counts the occurrence, returns its number if it is to be written or 0 otherwise. */
+  private long sample() {
+    final long occurrence = count.incrementAndGet();
+    if ((occurrence - 1) % sampleRate != 0) {
+      return 0;
+    }
+
+    final long now = nanoTime.getAsLong();
+    final long last = lastWritten.get();
+    if (now - last < intervalNanos || !lastWritten.compareAndSet(last, now)) {
+      return 0;
+    }
+
+    return occurrence;
+  }
+
+  private String message(final Supplier<String> message, final long occurrence) {
+    // concurrent writes within a zero interval may be reordered, never report a negative number
+    final long suppressed =
+        Math.max(0, occurrence - lastWrittenOccurrence.getAndSet(occurrence) - 1);
+    if (suppressed == 0) {
+      return message.get() + " (occurrence " + occurrence + ")";
+    }
+
+    return message.get() + " (occurrence " + occurrence + ", " + suppressed + " suppressed)";
+  }
+}
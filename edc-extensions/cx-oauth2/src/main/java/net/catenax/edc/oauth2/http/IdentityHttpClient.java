@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.http;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import okhttp3.OkHttpClient;
+
+/**
+ * HTTP client for requests to the identity provider, i.e. DAPS token requests and json web key
+ * set refreshes. It has a connection pool and dispatcher of its own, so identity requests never
+ * wait for slots or connections used by IDS messages sent with the shared {@link OkHttpClient}.
+ */
+@RequiredArgsConstructor
+public class IdentityHttpClient {
+  @Getter @NonNull private final OkHttpClient okHttpClient;
+
+  /** Cancels running calls and closes the pooled connections. */
+  public void close() {
+    okHttpClient.dispatcher().cancelAll();
+    okHttpClient.dispatcher().executorService().shutdown();
+    okHttpClient.connectionPool().evictAll();
+  }
+}
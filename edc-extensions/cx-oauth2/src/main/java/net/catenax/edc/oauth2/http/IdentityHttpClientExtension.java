@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.Setter;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.EdcSetting;
+import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Inject;
+import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Provides;
+import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Requires;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+
+@Provides(IdentityHttpClient.class)
+@Requires(OkHttpClient.class)
+public class IdentityHttpClientExtension implements ServiceExtension {
+
+  @EdcSetting
+  static final String CONNECT_TIMEOUT = "edc.oauth.http.connect.timeout"; // in seconds
+
+  static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+  @EdcSetting static final String READ_TIMEOUT = "edc.oauth.http.read.timeout"; // in seconds
+  static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+
+  @EdcSetting static final String WRITE_TIMEOUT = "edc.oauth.http.write.timeout"; // in seconds
+  static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofSeconds(10);
+
+  @EdcSetting static final String CALL_TIMEOUT = "edc.oauth.http.call.timeout"; // in seconds
+  static final Duration DEFAULT_CALL_TIMEOUT = Duration.ofSeconds(30);
+
+  @EdcSetting static final String POOL_MAX_IDLE = "edc.oauth.http.pool.max.idle";
+  static final int DEFAULT_POOL_MAX_IDLE = 8;
+
+  @EdcSetting
+  static final String POOL_KEEP_ALIVE = "edc.oauth.http.pool.keep.alive"; // in seconds
+
+  static final Duration DEFAULT_POOL_KEEP_ALIVE = Duration.ofMinutes(5);
+
+  @EdcSetting static final String MAX_REQUESTS = "edc.oauth.http.max.requests";
+  static final int DEFAULT_MAX_REQUESTS = 64;
+
+  @EdcSetting
+  static final String MAX_REQUESTS_PER_HOST = "edc.oauth.http.max.requests.per.host";
+
+  static final int DEFAULT_MAX_REQUESTS_PER_HOST = 32;
+
+  @EdcSetting static final String HTTP2 = "edc.oauth.http.http2";
+  static final boolean DEFAULT_HTTP2 = true;
+
+  private static final String METRIC_POOL = "edc.oauth2.http.pool";
+  private static final String METRIC_CALLS_RUNNING = "edc.oauth2.http.calls.running";
+  private static final String METRIC_CALLS_QUEUED = "edc.oauth2.http.calls.queued";
+
+  /** Client configured by the runtime, e.g. with proxy, trust store and interceptors. */
+  @Inject @Setter private OkHttpClient okHttpClient;
+
+  private IdentityHttpClient identityHttpClient;
+
+  @Override
+  public void initialize(@NonNull final ServiceExtensionContext serviceExtensionContext) {
+    identityHttpClient =
+        new IdentityHttpClient(okHttpClient(serviceExtensionContext, Metrics.globalRegistry));
+
+    serviceExtensionContext.registerService(IdentityHttpClient.class, identityHttpClient);
+  }
+
+  @Override
+  public void shutdown() {
+    Optional.ofNullable(identityHttpClient).ifPresent(IdentityHttpClient::close);
+  }
+
+  OkHttpClient okHttpClient(
+      final ServiceExtensionContext serviceExtensionContext, final MeterRegistry meterRegistry) {
+    final int maxIdleConnections =
+        serviceExtensionContext.getSetting(POOL_MAX_IDLE, DEFAULT_POOL_MAX_IDLE);
+    final ConnectionPool connectionPool =
+        new ConnectionPool(
+            maxIdleConnections,
+            seconds(serviceExtensionContext, POOL_KEEP_ALIVE, DEFAULT_POOL_KEEP_ALIVE).toSeconds(),
+            TimeUnit.SECONDS);
+
+    final Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(
+        serviceExtensionContext.getSetting(MAX_REQUESTS, DEFAULT_MAX_REQUESTS));
+    dispatcher.setMaxRequestsPerHost(
+        serviceExtensionContext.getSetting(MAX_REQUESTS_PER_HOST, DEFAULT_MAX_REQUESTS_PER_HOST));
+
+    // HTTP/2 is negotiated with TLS ALPN, plain HTTP connections always use HTTP/1.1
+    final List<Protocol> protocols =
+        serviceExtensionContext.getSetting(HTTP2, DEFAULT_HTTP2)
+            ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+            : List.of(Protocol.HTTP_1_1);
+
+    // derived from the shared client, so only pool, dispatcher, protocols and timeouts differ
+    final OkHttpClient identityOkHttpClient =
+        okHttpClient
+            .newBuilder()
+            .connectionPool(connectionPool)
+            .dispatcher(dispatcher)
+            .protocols(protocols)
+            .connectTimeout(
+                seconds(serviceExtensionContext, CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT))
+            .readTimeout(seconds(serviceExtensionContext, READ_TIMEOUT, DEFAULT_READ_TIMEOUT))
+            .writeTimeout(seconds(serviceExtensionContext, WRITE_TIMEOUT, DEFAULT_WRITE_TIMEOUT))
+            .callTimeout(seconds(serviceExtensionContext, CALL_TIMEOUT, DEFAULT_CALL_TIMEOUT))
+            .build();
+
+    new OkHttpConnectionPoolMetrics(connectionPool, METRIC_POOL, Tags.empty(), maxIdleConnections)
+        .bindTo(meterRegistry);
+    Gauge.builder(METRIC_CALLS_RUNNING, dispatcher, Dispatcher::runningCallsCount)
+        .strongReference(true)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_CALLS_QUEUED, dispatcher, Dispatcher::queuedCallsCount)
+        .strongReference(true)
+        .register(meterRegistry);
+
+    return identityOkHttpClient;
+  }
+
+  private static Duration seconds(
+      final ServiceExtensionContext serviceExtensionContext,
+      final String setting,
+      final Duration defaultValue) {
+    return Duration.ofSeconds(
+        serviceExtensionContext.getConfig().getLong(setting, defaultValue.toSeconds()));
+  }
+}
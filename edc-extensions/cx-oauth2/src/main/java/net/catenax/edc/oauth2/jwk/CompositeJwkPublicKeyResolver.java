@@ -0,0 +1,268 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.iam.PublicKeyResolver;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolves keys of several json web key sets, e.g. of two identity providers during a migration.
+ * Each set is refreshed on its own schedule by its {@link JwkPublicKeyResolver}. Lookups use one
+ * index of all key ids, rebuilt whenever one of the sets was refreshed, so a slow or failing set
+ * never delays lookups of keys already known.
+ *
+ * <p>An unknown key id refreshes all sets concurrently, and the lookup waits at most {@link
+ * #onDemandTimeout} for them. A set still refreshing after that is not waited for by later lookups
+ * until its refresh completes, its keys are indexed once it does.
+ */
+public class CompositeJwkPublicKeyResolver implements PublicKeyResolver, JwsVerifierResolver {
+  public static final Duration DEFAULT_ON_DEMAND_TIMEOUT = Duration.ofSeconds(1);
+
+  private static final String THREAD_NAME = "oauth2-jwks-on-demand-";
+
+  /** Resolvers in order of precedence, used if two key sets contain the same key id. */
+  private final List<JwkPublicKeyResolver> resolvers;
+
+  /** Maximum time a lookup of an unknown key id waits for the on-demand refreshes. */
+  private final Duration onDemandTimeout;
+
+  /** One thread per key set, each set has at most one on-demand refresh in flight. */
+  private final ExecutorService onDemandExecutorService;
+
+  private final AtomicReference<KeyIndex> keyIndex;
+
+  /** Lookups of key sets that did not complete within the timeout, and are still in flight. */
+  private final Map<JwkPublicKeyResolver, CompletableFuture<PublicKey>> slowLookups =
+      new ConcurrentHashMap<>();
+
+  public CompositeJwkPublicKeyResolver(@NonNull final List<JwkPublicKeyResolver> resolvers) {
+    this(resolvers, DEFAULT_ON_DEMAND_TIMEOUT);
+  }
+
+  public CompositeJwkPublicKeyResolver(
+      @NonNull final List<JwkPublicKeyResolver> resolvers,
+      @NonNull final Duration onDemandTimeout) {
+    if (resolvers.isEmpty()) {
+      throw new IllegalArgumentException("At least one json web key set is required");
+    }
+
+    this.resolvers = List.copyOf(resolvers);
+    this.onDemandTimeout = onDemandTimeout;
+    this.onDemandExecutorService =
+        Executors.newFixedThreadPool(this.resolvers.size(), threadFactory());
+    this.keyIndex = new AtomicReference<>(new KeyIndex(this.resolvers));
+  }
+
+  /**
+   * Starts all resolvers in parallel. Fails only if none of the key sets could be synchronized;
+   * failed sets are fetched again with their next refresh.
+   */
+  public void start() {
+    if (resolvers.size() == 1) {
+      resolvers.get(0).start();
+      return;
+    }
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(resolvers.size());
+    try {
+      CompletableFuture.allOf(
+              resolvers.stream()
+                  .map(
+                      resolver ->
+                          CompletableFuture.runAsync(() -> resolver.start(false), executorService))
+                  .toArray(CompletableFuture[]::new))
+          .join();
+    } finally {
+      executorService.shutdown();
+    }
+
+    if (currentKeyIndex().isEmpty()) {
+      throw new EdcException("Could not synchronize keys with any identity provider");
+    }
+  }
+
+  public void stop() {
+    onDemandExecutorService.shutdownNow();
+    resolvers.forEach(JwkPublicKeyResolver::stop);
+  }
+
+  @Override
+  public @Nullable PublicKey resolveKey(final String keyId) {
+    if (keyId == null) {
+      return null;
+    }
+
+    final JwkPublicKeyResolver owner = currentKeyIndex().getOwner(keyId);
+    if (owner != null) {
+      return owner.resolveKey(keyId);
+    }
+
+    return resolveUnknownKey(keyId);
+  }
+
+  @Override
+  public @Nullable JWSVerifier resolveVerifier(@NonNull final JWSHeader header)
+      throws JOSEException {
+    final String keyId = header.getKeyID();
+    if (keyId == null) {
+      return null;
+    }
+
+    final JwkPublicKeyResolver owner = currentKeyIndex().getOwner(keyId);
+    if (owner != null) {
+      return owner.resolveVerifier(header);
+    }
+
+    if (resolveUnknownKey(keyId) == null) {
+      return null;
+    }
+
+    final JwkPublicKeyResolver refreshedOwner = currentKeyIndex().getOwner(keyId);
+    return refreshedOwner == null ? null : refreshedOwner.resolveVerifier(header);
+  }
+
+  /**
+   * Starts the rate limited on-demand refresh of each key set concurrently. Returns the first key
+   * found, or null if none of the sets knows the key id within {@link #onDemandTimeout}. Sets whose
+   * previous lookup exceeded the timeout and is still in flight are not waited for.
+   */
+  private @Nullable PublicKey resolveUnknownKey(final String keyId) {
+    final Map<JwkPublicKeyResolver, CompletableFuture<PublicKey>> lookups = new HashMap<>();
+    for (final JwkPublicKeyResolver resolver : resolvers) {
+      final CompletableFuture<PublicKey> lookup =
+          resolver.resolveKeyAsync(keyId, onDemandExecutorService);
+      final CompletableFuture<PublicKey> slowLookup = slowLookups.get(resolver);
+      if (slowLookup == null || slowLookup.isDone()) {
+        lookups.put(resolver, lookup);
+      }
+    }
+
+    final CompletableFuture<PublicKey> found = new CompletableFuture<>();
+    lookups
+        .values()
+        .forEach(
+            lookup ->
+                lookup.thenAccept(
+                    publicKey -> {
+                      if (publicKey != null) {
+                        found.complete(publicKey);
+                      }
+                    }));
+    CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new))
+        .whenComplete((ignored, throwable) -> found.complete(null));
+
+    try {
+      return found.get(onDemandTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException timeoutException) {
+      lookups.forEach(this::rememberSlowLookup);
+      return null;
+    } catch (final InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (final ExecutionException executionException) {
+      throw new EdcException(executionException.getCause());
+    }
+  }
+
+  private void rememberSlowLookup(
+      final JwkPublicKeyResolver resolver, final CompletableFuture<PublicKey> lookup) {
+    if (lookup.isDone()) {
+      return;
+    }
+
+    slowLookups.put(resolver, lookup);
+    lookup.whenComplete((publicKey, throwable) -> slowLookups.remove(resolver, lookup));
+  }
+
+  private KeyIndex currentKeyIndex() {
+    final KeyIndex index = keyIndex.get();
+    if (index.isCurrent()) {
+      return index;
+    }
+
+    final KeyIndex rebuiltIndex = new KeyIndex(resolvers);
+    keyIndex.compareAndSet(index, rebuiltIndex);
+    return rebuiltIndex;
+  }
+
+  private static ThreadFactory threadFactory() {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, THREAD_NAME + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** Owner of each key id, built from the key maps the resolvers held at construction time. */
+  private static final class KeyIndex {
+    private final List<JwkPublicKeyResolver> resolvers;
+    private final List<Map<String, PublicKey>> indexedKeys;
+    private final Map<String, JwkPublicKeyResolver> owners;
+
+    private KeyIndex(final List<JwkPublicKeyResolver> resolvers) {
+      this.resolvers = resolvers;
+      this.indexedKeys =
+          resolvers.stream().map(JwkPublicKeyResolver::getKeys).collect(Collectors.toList());
+
+      final Map<String, JwkPublicKeyResolver> keyOwners = new HashMap<>();
+      for (int i = resolvers.size() - 1; i >= 0; i--) {
+        final JwkPublicKeyResolver resolver = resolvers.get(i);
+        indexedKeys.get(i).keySet().forEach(keyId -> keyOwners.put(keyId, resolver));
+      }
+      this.owners = Collections.unmodifiableMap(keyOwners);
+    }
+
+    /** Whether none of the resolvers published a new snapshot since the index was built. */
+    private boolean isCurrent() {
+      for (int i = 0; i < resolvers.size(); i++) {
+        if (resolvers.get(i).getKeys() != indexedKeys.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean isEmpty() {
+      return owners.isEmpty();
+    }
+
+    private @Nullable JwkPublicKeyResolver getOwner(final String keyId) {
+      return owners.get(keyId);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.util.Base64URL;
+import java.security.PublicKey;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+
+/** Reads elliptic curve keys on the P-256 and P-384 curves. */
+@RequiredArgsConstructor
+public class EcPublicKeyReader implements PublicKeyReader {
+  private static final String EC = "EC";
+  private static final Set<Curve> SUPPORTED_CURVES = Set.of(Curve.P_256, Curve.P_384);
+
+  @NonNull private final Monitor monitor;
+
+  @Override
+  public boolean canRead(final JsonWebKey jsonWebKey) {
+    return Optional.ofNullable(jsonWebKey)
+        .filter(key -> EC.equalsIgnoreCase(key.getKty()))
+        .map(JsonWebKey::getCrv)
+        .map(Curve::parse)
+        .filter(SUPPORTED_CURVES::contains)
+        .isPresent();
+  }
+
+  @Override
+  public Optional<PublicKeyHolder> read(final JsonWebKey jsonWebKey) {
+    try {
+      // the builder rejects points that are not on the curve
+      final ECKey ecKey =
+          new ECKey.Builder(
+                  Curve.parse(jsonWebKey.getCrv()),
+                  new Base64URL(jsonWebKey.getXx()),
+                  new Base64URL(jsonWebKey.getYy()))
+              .build();
+      final PublicKey publicKey = ecKey.toECPublicKey();
+      final PublicKeyHolder publicKeyHolder =
+          PublicKeyHolder.builder().keyId(jsonWebKey.getKid()).publicKey(publicKey).build();
+
+      return Optional.of(publicKeyHolder);
+    } catch (final JOSEException | RuntimeException exception) {
+      monitor.severe(
+          "Error parsing identity provider public key, skipping. The kid is: "
+              + jsonWebKey.getKid());
+    }
+    return Optional.empty();
+  }
+}
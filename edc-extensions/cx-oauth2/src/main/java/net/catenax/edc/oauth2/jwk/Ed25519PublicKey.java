@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import java.security.PublicKey;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ed25519 public key read from an OKP json web key. Java 11 has no EdDSA key type, so the key is
+ * kept as {@link OctetKeyPair} and verified with the Nimbus Ed25519 verifier.
+ */
+@RequiredArgsConstructor
+@EqualsAndHashCode
+public class Ed25519PublicKey implements PublicKey {
+  private static final long serialVersionUID = 1L;
+
+  private static final String ALGORITHM = "Ed25519";
+  private static final String FORMAT = "X.509";
+
+  /** ASN.1 SubjectPublicKeyInfo prefix of a 32 byte Ed25519 key (OID 1.3.101.112). */
+  private static final byte[] X509_PREFIX = {
+    0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00
+  };
+
+  @Getter @NonNull private final OctetKeyPair octetKeyPair;
+
+  @Override
+  public String getAlgorithm() {
+    return ALGORITHM;
+  }
+
+  @Override
+  public String getFormat() {
+    return FORMAT;
+  }
+
+  @Override
+  public byte[] getEncoded() {
+    final byte[] key = octetKeyPair.getDecodedX();
+    final byte[] encoded = new byte[X509_PREFIX.length + key.length];
+    System.arraycopy(X509_PREFIX, 0, encoded, 0, X509_PREFIX.length);
+    System.arraycopy(key, 0, encoded, X509_PREFIX.length, key.length);
+    return encoded;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+
+/** Reads octet key pairs on the Ed25519 curve. */
+@RequiredArgsConstructor
+public class Ed25519PublicKeyReader implements PublicKeyReader {
+  private static final String OKP = "OKP";
+  private static final int KEY_LENGTH = 32;
+
+  @NonNull private final Monitor monitor;
+
+  @Override
+  public boolean canRead(final JsonWebKey jsonWebKey) {
+    return Optional.ofNullable(jsonWebKey)
+        .filter(key -> OKP.equalsIgnoreCase(key.getKty()))
+        .map(JsonWebKey::getCrv)
+        .filter(Curve.Ed25519.getName()::equals)
+        .isPresent();
+  }
+
+  @Override
+  public Optional<PublicKeyHolder> read(final JsonWebKey jsonWebKey) {
+    try {
+      final Base64URL x = new Base64URL(jsonWebKey.getXx());
+      if (x.decode().length != KEY_LENGTH) {
+        throw new IllegalArgumentException("Invalid Ed25519 key length");
+      }
+
+      final OctetKeyPair octetKeyPair = new OctetKeyPair.Builder(Curve.Ed25519, x).build();
+      final PublicKeyHolder publicKeyHolder =
+          PublicKeyHolder.builder()
+              .keyId(jsonWebKey.getKid())
+              .publicKey(new Ed25519PublicKey(octetKeyPair))
+              .build();
+
+      return Optional.of(publicKeyHolder);
+    } catch (final RuntimeException runtimeException) {
+      monitor.severe(
+          "Error parsing identity provider public key, skipping. The kid is: "
+              + jsonWebKey.getKid());
+    }
+    return Optional.empty();
+  }
+}
@@ -38,6 +38,15 @@ public class JsonWebKey {
   @JsonProperty("e")
   private String ee;
 
+  @JsonProperty("crv")
+  private String crv;
+
+  @JsonProperty("x")
+  private String xx;
+
+  @JsonProperty("y")
+  private String yy;
+
   @JsonProperty("x5c")
   private List<String> x5c;
 
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+
+/**
+ * Local copy of the last json web key set read from an identity provider, so that tokens can be
+ * validated right after a restart, before the identity provider answered. The file is replaced
+ * atomically, readers never see a partially written key set.
+ */
+@RequiredArgsConstructor
+public class JsonWebKeySetFile {
+  private static final String PREFIX = "jwks-";
+  private static final String SUFFIX = ".json";
+
+  @Getter @NonNull private final Path path;
+
+  @NonNull private final TypeManager typeManager;
+
+  /** File of the key set in the directory, named after a hash of the key set uri. */
+  public static JsonWebKeySetFile of(
+      @NonNull final Path directory,
+      @NonNull final URI jsonWebKeySetUri,
+      @NonNull final TypeManager typeManager) {
+    return new JsonWebKeySetFile(
+        directory.resolve(PREFIX + sha256(jsonWebKeySetUri.toString()) + SUFFIX), typeManager);
+  }
+
+  /** Reads the key set, empty if it was not written yet. */
+  public Optional<JsonWebKeySet> read() throws IOException {
+    try (final InputStream inputStream = Files.newInputStream(path)) {
+      return Optional.ofNullable(
+          typeManager.getMapper().readValue(inputStream, JsonWebKeySet.class));
+    } catch (final NoSuchFileException noSuchFileException) {
+      return Optional.empty();
+    }
+  }
+
+  public void write(@NonNull final JsonWebKeySet jsonWebKeySet) throws IOException {
+    final Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+
+    final Path temporaryFile = Files.createTempFile(directory, PREFIX, SUFFIX);
+    try {
+      try (final OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+        typeManager.getMapper().writeValue(outputStream, jsonWebKeySet);
+      }
+
+      Files.move(
+          temporaryFile,
+          path,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  private static String sha256(final String value) {
+    try {
+      final byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      return String.format("%064x", new BigInteger(1, digest));
+    } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new EdcException(noSuchAlgorithmException);
+    }
+  }
+}
@@ -13,21 +13,42 @@
  */
 package net.catenax.edc.oauth2.jwk;
 
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.security.PublicKey;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -41,7 +62,24 @@ import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 import org.jetbrains.annotations.Nullable;
 
 @RequiredArgsConstructor
-public class JwkPublicKeyResolver implements PublicKeyResolver {
+public class JwkPublicKeyResolver implements PublicKeyResolver, JwsVerifierResolver {
+  private static final int MAX_UNKNOWN_KEY_IDS = 1024;
+  private static final String ETAG = "ETag";
+  private static final String LAST_MODIFIED = "Last-Modified";
+  private static final String IF_NONE_MATCH = "If-None-Match";
+  private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+  private static final String METRIC_FETCH = "edc.oauth2.jwks.fetch";
+  private static final String METRIC_FETCH_BYTES = "edc.oauth2.jwks.fetch.bytes";
+  private static final String METRIC_KEYS = "edc.oauth2.jwks.keys";
+  private static final String TAG_URI = "uri";
+  private static final String TAG_STATUS = "status";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String OUTCOME_SUCCESS = "success";
+  private static final String OUTCOME_FAILURE = "failure";
+  private static final String STATUS_NONE = "none";
+  private static final DefaultJWSVerifierFactory JWS_VERIFIER_FACTORY =
+      new DefaultJWSVerifierFactory();
+
   private final Object synchronizationMonitor = new Object();
 
   @NonNull private final URI jsonWebKeySetUri;
@@ -54,35 +92,188 @@ public class JwkPublicKeyResolver implements PublicKeyResolver {
 
   @NonNull private final List<PublicKeyReader> jsonWebKeyReaders;
 
+  /** Time between two refreshes, unless the identity provider sends a Cache-Control max-age. */
   @NonNull private final Duration interval;
 
-  private final Map<String, PublicKey> keys = new HashMap<>();
+  /**
+   * Minimum time between two refreshes triggered by an unknown key id. Unknown key ids are
+   * remembered for the same duration, so they do not wait for the identity provider again.
+   */
+  @NonNull private final Duration onDemandRefreshInterval;
+
+  @NonNull private final Clock clock;
+
+  @NonNull private final MeterRegistry meterRegistry;
+
+  /** Local copy of the key set loaded at start, or null to always wait for the provider. */
+  @Nullable private final JsonWebKeySetFile jsonWebKeySetFile;
+
+  /**
+   * Immutable snapshot of the current key set. Refreshes publish a complete new snapshot, so
+   * readers never block and never observe a partially filled key set.
+   */
+  private final AtomicReference<KeySnapshot> keySnapshot =
+      new AtomicReference<>(new KeySnapshot(Collections.emptyMap(), null));
+
   private final AtomicReference<ScheduledExecutorService> executorServiceReference =
       new AtomicReference<>();
 
+  private final AtomicReference<CompletableFuture<Void>> onDemandRefreshReference =
+      new AtomicReference<>();
+  private final Map<String, Instant> unknownKeyIds = new ConcurrentHashMap<>();
+  private volatile Instant lastOnDemandRefresh;
+
+  /** Validators of the last key set read, sent with the next request to skip unchanged sets. */
+  private volatile String entityTag;
+
+  private volatile String lastModified;
+  private volatile Duration maxAge;
+
+  /** Keys decoded from the last key set read, reused for json web keys that did not change. */
+  private volatile Map<JsonWebKey, PublicKeyHolder> decodedKeys = Collections.emptyMap();
+
+  /** Json web keys last written to the local file, which is not rewritten for an equal set. */
+  private volatile List<JsonWebKey> writtenKeys;
+
   public void start() {
+    start(true);
+  }
+
+  /**
+   * Loads the keys of the local file, if any, or otherwise synchronizes the keys, and schedules
+   * the refresh. Keys loaded from the file are refreshed right away in the background.
+   *
+   * @param failOnError whether to throw if neither the local file nor the first synchronization
+   *     provided keys. Otherwise the failure is logged and the keys are fetched again with the next
+   *     refresh.
+   */
+  public void start(final boolean failOnError) {
     synchronized (synchronizationMonitor) {
       if (executorServiceReference.get() != null) {
         return;
       }
 
-      final Result<Map<String, PublicKey>> result = synchronizeKeys();
-      if (result.failed()) {
-        throw new EdcException(
-            String.format(
-                "Could not synchronize keys with identity provider (%s): %s",
-                jsonWebKeySetUri, result.getFailureDetail()));
+      Gauge.builder(METRIC_KEYS, this, resolver -> resolver.getKeys().size())
+          .tag(TAG_URI, jsonWebKeySetUri.toString())
+          .register(meterRegistry);
+
+      final boolean loaded = loadKeys();
+      if (!loaded) {
+        final Result<Map<String, PublicKey>> result = synchronizeKeys();
+        if (result.failed()) {
+          final String message =
+              String.format(
+                  "Could not synchronize keys with identity provider (%s): %s",
+                  jsonWebKeySetUri, result.getFailureDetail());
+          if (failOnError) {
+            throw new EdcException(message);
+          }
+          monitor.warning(message);
+        }
       }
 
       final ScheduledExecutorService scheduledExecutorService =
           Executors.newSingleThreadScheduledExecutor();
       executorServiceReference.set(scheduledExecutorService);
 
-      scheduledExecutorService.scheduleWithFixedDelay(
-          this::synchronizeKeys, interval.getSeconds(), interval.getSeconds(), TimeUnit.SECONDS);
+      if (loaded) {
+        scheduledExecutorService.execute(this::synchronizeKeysAndReschedule);
+      } else {
+        scheduleSynchronization(scheduledExecutorService);
+      }
+    }
+  }
+
+  /** Publishes the keys of the local file, returns false if there is no file or it has no keys. */
+  private boolean loadKeys() {
+    if (jsonWebKeySetFile == null) {
+      return false;
+    }
+
+    final Map<String, PublicKey> keys;
+    try {
+      final List<JsonWebKey> jsonWebKeys =
+          jsonWebKeySetFile.read().map(JsonWebKeySet::getKeys).orElse(null);
+      if (jsonWebKeys == null || jsonWebKeys.isEmpty()) {
+        return false;
+      }
+
+      keys = deserializeKeys(jsonWebKeys);
+      writtenKeys = jsonWebKeys;
+    } catch (final IOException | RuntimeException exception) {
+      monitor.warning(
+          String.format(
+              "Could not read identity provider (%s) keys from %s",
+              jsonWebKeySetUri, jsonWebKeySetFile.getPath()),
+          exception);
+      return false;
+    }
+
+    if (keys.isEmpty()) {
+      return false;
+    }
+
+    keySnapshot.set(new KeySnapshot(keys, keySnapshot.get()));
+    monitor.info(
+        String.format(
+            "Loaded %d identity provider (%s) keys from %s",
+            keys.size(), jsonWebKeySetUri, jsonWebKeySetFile.getPath()));
+    return true;
+  }
+
+  private void writeKeys(final List<JsonWebKey> jsonWebKeys) {
+    if (jsonWebKeySetFile == null || jsonWebKeys.equals(writtenKeys)) {
+      return;
+    }
+
+    final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet();
+    jsonWebKeySet.setKeys(jsonWebKeys);
+    try {
+      jsonWebKeySetFile.write(jsonWebKeySet);
+      writtenKeys = jsonWebKeys;
+    } catch (final IOException exception) {
+      monitor.warning(
+          String.format(
+              "Could not write identity provider (%s) keys to %s",
+              jsonWebKeySetUri, jsonWebKeySetFile.getPath()),
+          exception);
     }
   }
 
+  private void scheduleSynchronization(final ScheduledExecutorService scheduledExecutorService) {
+    try {
+      scheduledExecutorService.schedule(
+          this::synchronizeKeysAndReschedule, refreshDelay().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (final RejectedExecutionException rejectedExecutionException) {
+      // stopped concurrently
+    }
+  }
+
+  private void synchronizeKeysAndReschedule() {
+    try {
+      synchronizeKeys();
+    } finally {
+      Optional.ofNullable(executorServiceReference.get())
+          .filter(scheduledExecutorService -> !scheduledExecutorService.isShutdown())
+          .ifPresent(this::scheduleSynchronization);
+    }
+  }
+
+  /**
+   * Uses the max-age of the last response, so the key set is refreshed as often as the identity
+   * provider allows caching it, but not more often than on-demand refreshes.
+   */
+  private Duration refreshDelay() {
+    final Duration responseMaxAge = maxAge;
+    if (responseMaxAge == null) {
+      return interval;
+    }
+
+    return responseMaxAge.compareTo(onDemandRefreshInterval) < 0
+        ? onDemandRefreshInterval
+        : responseMaxAge;
+  }
+
   public void stop() {
     synchronized (synchronizationMonitor) {
       if (executorServiceReference.get() == null) {
@@ -106,84 +297,350 @@ public class JwkPublicKeyResolver implements PublicKeyResolver {
       return null;
     }
 
-    synchronized (synchronizationMonitor) {
-      return keys.get(keyId);
+    final PublicKey publicKey = keySnapshot.get().getPublicKey(keyId);
+    if (publicKey != null) {
+      return publicKey;
+    }
+
+    return resolveUnknownKey(keyId);
+  }
+
+  @Override
+  public @Nullable JWSVerifier resolveVerifier(@NonNull final JWSHeader header)
+      throws JOSEException {
+    final String keyId = header.getKeyID();
+    if (resolveKey(keyId) == null) {
+      return null;
+    }
+
+    return keySnapshot.get().getVerifier(keyId, header);
+  }
+
+  /** Keys of the current snapshot. A new map instance is returned after each refresh. */
+  Map<String, PublicKey> getKeys() {
+    return keySnapshot.get().getKeys();
+  }
+
+  private @Nullable PublicKey resolveUnknownKey(@NonNull final String keyId) {
+    final Instant now = clock.instant();
+    if (isRememberedUnknown(keyId, now)) {
+      return null;
+    }
+
+    refreshOnDemand(now, Runnable::run).join();
+
+    return resolveAfterRefresh(keyId, now);
+  }
+
+  /**
+   * Resolves the key without blocking the calling thread. An unknown key id starts the on-demand
+   * refresh on the executor, and the returned future completes once the refresh is done.
+   */
+  CompletableFuture<PublicKey> resolveKeyAsync(
+      @NonNull final String keyId, @NonNull final Executor executor) {
+    final PublicKey publicKey = keySnapshot.get().getPublicKey(keyId);
+    final Instant now = clock.instant();
+    if (publicKey != null || isRememberedUnknown(keyId, now)) {
+      return CompletableFuture.completedFuture(publicKey);
+    }
+
+    return refreshOnDemand(now, executor).thenApply(refreshed -> resolveAfterRefresh(keyId, now));
+  }
+
+  private boolean isRememberedUnknown(@NonNull final String keyId, @NonNull final Instant now) {
+    final Instant unknownUntil = unknownKeyIds.get(keyId);
+    return unknownUntil != null && now.isBefore(unknownUntil);
+  }
+
+  private @Nullable PublicKey resolveAfterRefresh(
+      @NonNull final String keyId, @NonNull final Instant now) {
+    final PublicKey publicKey = keySnapshot.get().getPublicKey(keyId);
+    if (publicKey == null) {
+      rememberUnknownKeyId(keyId, now);
+    }
+
+    return publicKey;
+  }
+
+  /**
+   * Refreshes the key set on the executor because a key id was not found. Concurrent callers share
+   * one in-flight refresh, and at most one refresh is started per {@link
+   * #onDemandRefreshInterval}.
+   */
+  private CompletableFuture<Void> refreshOnDemand(
+      @NonNull final Instant now, @NonNull final Executor executor) {
+    final CompletableFuture<Void> refresh = new CompletableFuture<>();
+    final CompletableFuture<Void> inFlightRefresh =
+        onDemandRefreshReference.compareAndExchange(null, refresh);
+    if (inFlightRefresh != null) {
+      return inFlightRefresh;
+    }
+
+    final Instant last = lastOnDemandRefresh;
+    if (last != null && now.isBefore(last.plus(onDemandRefreshInterval))) {
+      completeOnDemandRefresh(refresh);
+      return refresh;
+    }
+
+    lastOnDemandRefresh = now;
+    try {
+      executor.execute(
+          () -> {
+            try {
+              synchronizeKeys();
+            } finally {
+              completeOnDemandRefresh(refresh);
+            }
+          });
+    } catch (final RejectedExecutionException rejectedExecutionException) {
+      completeOnDemandRefresh(refresh);
+    }
+
+    return refresh;
+  }
+
+  private void completeOnDemandRefresh(final CompletableFuture<Void> refresh) {
+    onDemandRefreshReference.set(null);
+    refresh.complete(null);
+  }
+
+  private void rememberUnknownKeyId(@NonNull final String keyId, @NonNull final Instant now) {
+    if (unknownKeyIds.size() >= MAX_UNKNOWN_KEY_IDS) {
+      unknownKeyIds.values().removeIf(now::isAfter);
+      if (unknownKeyIds.size() >= MAX_UNKNOWN_KEY_IDS) {
+        unknownKeyIds.clear();
+      }
     }
+
+    unknownKeyIds.put(keyId, now.plus(onDemandRefreshInterval));
   }
 
   protected Result<Map<String, PublicKey>> synchronizeKeys() {
     final Result<Map<String, PublicKey>> fetchedKeys = fetchKeys();
 
     if (fetchedKeys.succeeded()) {
-      synchronized (synchronizationMonitor) {
-        keys.clear();
-        keys.putAll(fetchedKeys.getContent());
-      }
+      keySnapshot.set(new KeySnapshot(fetchedKeys.getContent(), keySnapshot.get()));
+      unknownKeyIds.clear();
     }
 
     return fetchedKeys;
   }
 
   protected Result<Map<String, PublicKey>> fetchKeys() {
+    final long start = System.nanoTime();
+    String status = STATUS_NONE;
+    Result<Map<String, PublicKey>> result;
     try {
       final HttpUrl httpUrl = Objects.requireNonNull(HttpUrl.get(jsonWebKeySetUri));
-      final Request request = new Request.Builder().url(httpUrl).get().build();
-      try (final Response response = httpClient.newCall(request).execute()) {
-        if (response.code() == 200) {
-          final JsonWebKeySet jsonWebKeySet;
-          try (final ResponseBody body = response.body()) {
-
-            if (body == null) {
-              final String message =
-                  String.format(
-                      "Unable to refresh identity provider (%s) keys. An empty response was returned.",
-                      jsonWebKeySetUri);
-              monitor.severe(message);
-              return Result.failure(message);
-            }
+      final Request.Builder requestBuilder = new Request.Builder().url(httpUrl).get();
+      Optional.ofNullable(entityTag)
+          .ifPresent(value -> requestBuilder.header(IF_NONE_MATCH, value));
+      Optional.ofNullable(lastModified)
+          .ifPresent(value -> requestBuilder.header(IF_MODIFIED_SINCE, value));
 
-            jsonWebKeySet = typeManager.readValue(body.string(), JsonWebKeySet.class);
-          }
+      try (final Response response = httpClient.newCall(requestBuilder.build()).execute()) {
+        status = String.valueOf(response.code());
+        result = readKeys(response);
+      }
+    } catch (final Exception exception) {
+      final String message =
+          String.format(
+              "Error resolving identity (%s) provider keys: %s",
+              jsonWebKeySetUri, exception.getMessage());
+      monitor.severe(message, exception);
+      result = Result.failure(message);
+    }
 
-          final List<JsonWebKey> nonNullKeys =
-              Optional.ofNullable(jsonWebKeySet.getKeys()).orElseGet(Collections::emptyList);
-          if (nonNullKeys.isEmpty()) {
-            final String message =
-                String.format("No keys returned from identity provider (%s).", jsonWebKeySetUri);
-            monitor.warning(message);
-            return Result.failure(message);
-          }
+    Timer.builder(METRIC_FETCH)
+        .tag(TAG_URI, jsonWebKeySetUri.toString())
+        .tag(TAG_STATUS, status)
+        .tag(TAG_OUTCOME, result.succeeded() ? OUTCOME_SUCCESS : OUTCOME_FAILURE)
+        .register(meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    return result;
+  }
 
-          return Result.success(deserializeKeys(nonNullKeys));
-        } else {
+  private Result<Map<String, PublicKey>> readKeys(final Response response) throws IOException {
+    if (response.code() == 304) {
+      maxAge = maxAge(response);
+      return Result.success(keySnapshot.get().getKeys());
+    }
+
+    if (response.code() == 200) {
+      final JsonWebKeySet jsonWebKeySet;
+      try (final ResponseBody body = response.body()) {
+
+        if (body == null) {
           final String message =
               String.format(
-                  "Unable to refresh identity provider (%s) keys. Response code was: %s",
-                  jsonWebKeySetUri, response.code());
+                  "Unable to refresh identity provider (%s) keys. An empty response was returned.",
+                  jsonWebKeySetUri);
           monitor.severe(message);
           return Result.failure(message);
         }
+
+        final CountingInputStream inputStream = new CountingInputStream(body.byteStream());
+        jsonWebKeySet = typeManager.getMapper().readValue(inputStream, JsonWebKeySet.class);
+        DistributionSummary.builder(METRIC_FETCH_BYTES)
+            .baseUnit(BaseUnits.BYTES)
+            .tag(TAG_URI, jsonWebKeySetUri.toString())
+            .register(meterRegistry)
+            .record(inputStream.getCount());
       }
-    } catch (final Exception exception) {
+
+      final List<JsonWebKey> nonNullKeys =
+          Optional.ofNullable(jsonWebKeySet.getKeys()).orElseGet(Collections::emptyList);
+      if (nonNullKeys.isEmpty()) {
+        final String message =
+            String.format("No keys returned from identity provider (%s).", jsonWebKeySetUri);
+        monitor.warning(message);
+        return Result.failure(message);
+      }
+
+      final Map<String, PublicKey> keys = deserializeKeys(nonNullKeys);
+      if (!keys.isEmpty()) {
+        writeKeys(nonNullKeys);
+      }
+      entityTag = response.header(ETAG);
+      lastModified = response.header(LAST_MODIFIED);
+      maxAge = maxAge(response);
+
+      return Result.success(keys);
+    } else {
       final String message =
           String.format(
-              "Error resolving identity (%s) provider keys: %s",
-              jsonWebKeySetUri, exception.getMessage());
-      monitor.severe(message, exception);
+              "Unable to refresh identity provider (%s) keys. Response code was: %s",
+              jsonWebKeySetUri, response.code());
+      monitor.severe(message);
       return Result.failure(message);
     }
   }
 
+  private static @Nullable Duration maxAge(final Response response) {
+    final int maxAgeSeconds = response.cacheControl().maxAgeSeconds();
+    return maxAgeSeconds < 0 ? null : Duration.ofSeconds(maxAgeSeconds);
+  }
+
   private Map<String, PublicKey> deserializeKeys(final List<JsonWebKey> jsonWebKeys) {
+    final Map<JsonWebKey, PublicKeyHolder> previouslyDecodedKeys = decodedKeys;
+    final Map<JsonWebKey, PublicKeyHolder> currentlyDecodedKeys = new HashMap<>();
     final Map<String, PublicKey> keyMap = new HashMap<>();
     for (final JsonWebKey jsonWebKey :
         Optional.ofNullable(jsonWebKeys).orElseGet(Collections::emptyList)) {
-      jsonWebKeyReaders.stream()
-          .filter(reader -> reader.canRead(jsonWebKey))
-          .findFirst()
-          .flatMap(reader -> reader.read(jsonWebKey))
-          .ifPresent(keyHolder -> keyMap.put(keyHolder.getKeyId(), keyHolder.getPublicKey()));
+      Optional.ofNullable(previouslyDecodedKeys.get(jsonWebKey))
+          .or(
+              () ->
+                  jsonWebKeyReaders.stream()
+                      .filter(reader -> reader.canRead(jsonWebKey))
+                      .findFirst()
+                      .flatMap(reader -> reader.read(jsonWebKey)))
+          .ifPresent(
+              keyHolder -> {
+                currentlyDecodedKeys.put(jsonWebKey, keyHolder);
+                keyMap.put(keyHolder.getKeyId(), keyHolder.getPublicKey());
+              });
     }
+
+    decodedKeys = currentlyDecodedKeys;
     return keyMap;
   }
+
+  /** Counts the bytes read, for the size of the key set without buffering the response. */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    private CountingInputStream(final InputStream inputStream) {
+      super(inputStream);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int value = super.read();
+      if (value >= 0) {
+        count++;
+      }
+      return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+      final int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(final long length) throws IOException {
+      final long skipped = super.skip(length);
+      count += skipped;
+      return skipped;
+    }
+
+    private long getCount() {
+      return count;
+    }
+  }
+
+  /**
+   * Keys of one synchronization together with the verifiers built for them. Verifiers are created
+   * lazily once per key id and algorithm and are carried over to the next snapshot only while the
+   * key stays the same.
+   */
+  private static final class KeySnapshot {
+    private final Map<String, PublicKey> keys;
+    private final Map<VerifierKey, JWSVerifier> verifiers = new ConcurrentHashMap<>();
+
+    private KeySnapshot(
+        final Map<String, PublicKey> keys, @Nullable final KeySnapshot previousSnapshot) {
+      this.keys = Collections.unmodifiableMap(new HashMap<>(keys));
+
+      if (previousSnapshot != null) {
+        previousSnapshot.verifiers.forEach(
+            (verifierKey, verifier) -> {
+              final String keyId = verifierKey.getKeyId();
+              if (this.keys.get(keyId) == previousSnapshot.keys.get(keyId)) {
+                verifiers.put(verifierKey, verifier);
+              }
+            });
+      }
+    }
+
+    private Map<String, PublicKey> getKeys() {
+      return keys;
+    }
+
+    private @Nullable PublicKey getPublicKey(final String keyId) {
+      return keys.get(keyId);
+    }
+
+    private @Nullable JWSVerifier getVerifier(final String keyId, final JWSHeader header)
+        throws JOSEException {
+      final VerifierKey verifierKey = new VerifierKey(keyId, header.getAlgorithm());
+      final JWSVerifier verifier = verifiers.get(verifierKey);
+      if (verifier != null) {
+        return verifier;
+      }
+
+      final PublicKey publicKey = keys.get(keyId);
+      if (publicKey == null) {
+        return null;
+      }
+
+      final JWSVerifier createdVerifier =
+          publicKey instanceof Ed25519PublicKey
+              ? new Ed25519Verifier(((Ed25519PublicKey) publicKey).getOctetKeyPair())
+              : JWS_VERIFIER_FACTORY.createJWSVerifier(header, publicKey);
+      final JWSVerifier existingVerifier = verifiers.putIfAbsent(verifierKey, createdVerifier);
+      return existingVerifier != null ? existingVerifier : createdVerifier;
+    }
+  }
+
+  @Value
+  private static class VerifierKey {
+    String keyId;
+    JWSAlgorithm algorithm;
+  }
 }
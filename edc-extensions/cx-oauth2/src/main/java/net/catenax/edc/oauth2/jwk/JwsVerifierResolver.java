@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import org.jetbrains.annotations.Nullable;
+
+public interface JwsVerifierResolver {
+  /**
+   * Resolves a verifier for the key id and algorithm of the given header.
+   *
+   * @param header header of the token to verify
+   * @return the verifier or null, if no key is known for the key id
+   * @throws JOSEException if no verifier can be created for the key and algorithm
+   */
+  @Nullable
+  JWSVerifier resolveVerifier(JWSHeader header) throws JOSEException;
+}
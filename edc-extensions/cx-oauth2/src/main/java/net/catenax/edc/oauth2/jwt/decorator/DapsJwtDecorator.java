@@ -15,9 +15,8 @@
 package net.catenax.edc.oauth2.jwt.decorator;
 
 import java.util.Map;
-import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
 
-public class DapsJwtDecorator implements JwtDecorator {
+public class DapsJwtDecorator implements StaticJwtDecorator {
 
   @Override
   public Map<String, Object> claims() {
@@ -16,10 +16,9 @@ package net.catenax.edc.oauth2.jwt.decorator;
 import java.util.Collections;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
-import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
 
 @RequiredArgsConstructor
-public class IdsAudJwtDecorator implements JwtDecorator {
+public class IdsAudJwtDecorator implements StaticJwtDecorator {
 
   @Override
   public Map<String, Object> claims() {
@@ -0,0 +1,22 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.oauth2.jwt.decorator;
+
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+
+/**
+ * Decorator whose claims and headers are the same for every token, so token generation may
+ * compute them once and reuse them.
+ */
+public interface StaticJwtDecorator extends JwtDecorator {}
@@ -16,10 +16,9 @@ package net.catenax.edc.oauth2.jwt.decorator;
 import java.util.Map;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
 
 @RequiredArgsConstructor
-public class SubJwtDecorator implements JwtDecorator {
+public class SubJwtDecorator implements StaticJwtDecorator {
   @NonNull private final String subject;
 
   @Override
@@ -19,15 +19,16 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Map;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.eclipse.dataspaceconnector.spi.EdcException;
-import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
 
-@RequiredArgsConstructor
-public class X5tJwtDecorator implements JwtDecorator {
+public class X5tJwtDecorator implements StaticJwtDecorator {
   private static final String SHA_1 = "SHA-1";
 
-  @NonNull private final byte[] encodedCertificate;
+  private final Map<String, Object> headers;
+
+  public X5tJwtDecorator(@NonNull final byte[] encodedCertificate) {
+    this.headers = Map.of("x5t", new Base64URL(sha1Base64Fingerprint(encodedCertificate)));
+  }
 
   public static String sha1Base64Fingerprint(final byte[] bytes) {
     try {
@@ -46,6 +47,6 @@ public class X5tJwtDecorator implements JwtDecorator {
 
   @Override
   public Map<String, Object> headers() {
-    return Map.of("x5t", new Base64URL(sha1Base64Fingerprint(encodedCertificate)));
+    return headers;
   }
 }
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.generator;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NonNull;
+import net.catenax.edc.oauth2.jwt.decorator.StaticJwtDecorator;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+
+/**
+ * Header and claims of the {@link StaticJwtDecorator}s, serialized once. Signing a token only
+ * serializes the claims of the remaining decorators, usually iat, exp and jti.
+ */
+class JwtAssertionTemplate {
+  private static final char SEPARATOR = '.';
+
+  @Getter private final List<StaticJwtDecorator> staticDecorators;
+  private final JWSHeader header;
+  private final String encodedHeader;
+  private final String staticClaimsJson;
+  private final Set<String> staticClaimNames;
+
+  JwtAssertionTemplate(
+      @NonNull final JWSAlgorithm jwsAlgorithm,
+      @NonNull final List<StaticJwtDecorator> staticDecorators) {
+    final Map<String, Object> headers = new HashMap<>();
+    final JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder();
+    for (final StaticJwtDecorator decorator : staticDecorators) {
+      decorator.claims().forEach(claimsBuilder::claim);
+      headers.putAll(decorator.headers());
+    }
+
+    // set at once, each call replaces the parameters set before
+    final JWSHeader.Builder headerBuilder =
+        new JWSHeader.Builder(jwsAlgorithm).customParams(headers);
+
+    final JWTClaimsSet staticClaims = claimsBuilder.build();
+
+    this.staticDecorators = List.copyOf(staticDecorators);
+    this.header = headerBuilder.build();
+    this.encodedHeader = header.toBase64URL().toString();
+    // the string form of a claims set is its JSON serialization
+    this.staticClaimsJson = staticClaims.toString();
+    this.staticClaimNames = Set.copyOf(staticClaims.getClaims().keySet());
+  }
+
+  /**
+   * Signs a token with the template and the claims of the given decorators.
+   *
+   * @return the serialized token, or null if a decorator adds headers or overrides a static claim
+   *     and the token has to be built without the template
+   */
+  String sign(@NonNull final JWSSigner jwsSigner, @NonNull final List<JwtDecorator> decorators)
+      throws JOSEException {
+    final JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder();
+    for (final JwtDecorator decorator : decorators) {
+      if (!decorator.headers().isEmpty()) {
+        return null;
+      }
+
+      for (final Map.Entry<String, Object> claim : decorator.claims().entrySet()) {
+        if (staticClaimNames.contains(claim.getKey())) {
+          return null;
+        }
+        claimsBuilder.claim(claim.getKey(), claim.getValue());
+      }
+    }
+
+    final String dynamicClaimsJson = claimsBuilder.build().toString();
+
+    final String encodedPayload = Base64URL.encode(merge(dynamicClaimsJson)).toString();
+
+    final StringBuilder token =
+        new StringBuilder(encodedHeader.length() + encodedPayload.length() + 512);
+    token.append(encodedHeader).append(SEPARATOR).append(encodedPayload);
+
+    final Base64URL signature =
+        jwsSigner.sign(header, token.toString().getBytes(StandardCharsets.US_ASCII));
+
+    return token.append(SEPARATOR).append(signature).toString();
+  }
+
+  /** Joins the two serialized JSON objects, which have no member names in common. */
+  private String merge(final String dynamicClaimsJson) {
+    if (staticClaimNames.isEmpty()) {
+      return dynamicClaimsJson;
+    }
+
+    if (dynamicClaimsJson.length() <= 2) {
+      return staticClaimsJson;
+    }
+
+    return staticClaimsJson.substring(0, staticClaimsJson.length() - 1)
+        + ','
+        + dynamicClaimsJson.substring(1);
+  }
+}
@@ -16,19 +16,35 @@
 
 package net.catenax.edc.oauth2.jwt.generator;
 
+import com.google.crypto.tink.subtle.Ed25519Sign;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.Ed25519Signer;
 import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.impl.ECDSA;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.security.PrivateKey;
 import java.security.interfaces.ECPrivateKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import net.catenax.edc.oauth2.jwt.decorator.StaticJwtDecorator;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
 import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
@@ -39,13 +55,44 @@ import org.jetbrains.annotations.NotNull;
 public class JwtTokenGenerationService implements TokenGenerationService {
   private static final String KEY_ALGO_RSA = "RSA";
   private static final String KEY_ALGO_EC = "EC";
+  private static final String KEY_ALGO_ED25519 = "Ed25519";
+  private static final String KEY_ALGO_EDDSA = "EdDSA";
+
+  /** PKCS#8 prefix of an Ed25519 private key, followed by the 32 byte seed. */
+  private static final byte[] ED25519_PKCS8_PREFIX = {
+    0x30, 0x2e, 0x02, 0x01, 0x00, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x04, 0x22, 0x04, 0x20
+  };
+
+  private static final int ED25519_SEED_LENGTH = 32;
+
+  private static final String METRIC_SIGN = "edc.oauth2.assertion.sign";
+  private static final String TAG_ALGORITHM = "algorithm";
+  private static final String TAG_OUTCOME = "outcome";
 
   private final JWSAlgorithm jwsAlgorithm;
   private final JWSSigner jwsSigner;
 
-  public JwtTokenGenerationService(@NonNull final PrivateKey privateKey) {
-    this.jwsAlgorithm = getJWSAlgorithm(privateKey.getAlgorithm());
+  private final Timer successTimer;
+  private final Timer failureTimer;
+
+  /** Template of the static decorators passed last, replaced when they change. */
+  private final AtomicReference<JwtAssertionTemplate> assertionTemplateReference =
+      new AtomicReference<>();
+
+  public JwtTokenGenerationService(
+      @NonNull final PrivateKey privateKey, @NonNull final MeterRegistry meterRegistry) {
+    this.jwsAlgorithm = getJWSAlgorithm(privateKey);
     this.jwsSigner = getJWSSigner(privateKey.getAlgorithm(), privateKey);
+
+    this.successTimer = signTimer("success", meterRegistry);
+    this.failureTimer = signTimer("failure", meterRegistry);
+  }
+
+  private Timer signTimer(final String outcome, final MeterRegistry meterRegistry) {
+    return Timer.builder(METRIC_SIGN)
+        .tag(TAG_ALGORITHM, jwsAlgorithm.getName())
+        .tag(TAG_OUTCOME, outcome)
+        .register(meterRegistry);
   }
 
   @SneakyThrows
@@ -59,44 +106,128 @@ public class JwtTokenGenerationService implements TokenGenerationService {
       return new RSASSASigner(privateKey);
     }
 
+    if (isEd25519(algorithm)) {
+      return new Ed25519Signer(ed25519OctetKeyPair(privateKey));
+    }
+
     throw new EdcException("Unsupported key algorithm: " + algorithm);
   }
 
-  private static JWSAlgorithm getJWSAlgorithm(@NonNull final String algorithm) {
+  @SneakyThrows
+  private static JWSAlgorithm getJWSAlgorithm(@NonNull final PrivateKey privateKey) {
+    final String algorithm = privateKey.getAlgorithm();
     if (algorithm.equals(KEY_ALGO_EC)) {
-      return JWSAlgorithm.ES256;
+      final Curve curve = Curve.forECParameterSpec(((ECPrivateKey) privateKey).getParams());
+      if (curve == null) {
+        throw new EdcException("Unsupported elliptic curve");
+      }
+
+      return ECDSA.resolveAlgorithm(curve);
     }
 
     if (algorithm.equals(KEY_ALGO_RSA)) {
       return JWSAlgorithm.RS256;
     }
 
+    if (isEd25519(algorithm)) {
+      return JWSAlgorithm.EdDSA;
+    }
+
     throw new EdcException("Unsupported key algorithm: " + algorithm);
   }
 
+  private static boolean isEd25519(final String algorithm) {
+    return algorithm.equals(KEY_ALGO_ED25519) || algorithm.equals(KEY_ALGO_EDDSA);
+  }
+
+  /**
+   * Java 11 has no EdDSA key type, so the seed is taken from the PKCS#8 encoding and the public key
+   * derived from it for the Nimbus signer.
+   */
+  @SneakyThrows
+  private static OctetKeyPair ed25519OctetKeyPair(@NonNull final PrivateKey privateKey) {
+    final byte[] encoded = privateKey.getEncoded();
+    if (encoded == null
+        || encoded.length < ED25519_PKCS8_PREFIX.length + ED25519_SEED_LENGTH
+        || !Arrays.equals(
+            ED25519_PKCS8_PREFIX, Arrays.copyOf(encoded, ED25519_PKCS8_PREFIX.length))) {
+      throw new EdcException("Unsupported Ed25519 private key encoding");
+    }
+
+    final byte[] seed =
+        Arrays.copyOfRange(
+            encoded,
+            ED25519_PKCS8_PREFIX.length,
+            ED25519_PKCS8_PREFIX.length + ED25519_SEED_LENGTH);
+    final Ed25519Sign.KeyPair keyPair = Ed25519Sign.KeyPair.newKeyPairFromSeed(seed);
+
+    return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(keyPair.getPublicKey()))
+        .d(Base64URL.encode(keyPair.getPrivateKey()))
+        .build();
+  }
+
   @Override
   public Result<TokenRepresentation> generate(@NotNull @NonNull final JwtDecorator... decorators) {
+    final long start = System.nanoTime();
+    final List<StaticJwtDecorator> staticDecorators = new ArrayList<>(decorators.length);
+    final List<JwtDecorator> dynamicDecorators = new ArrayList<>(decorators.length);
+    for (final JwtDecorator decorator : decorators) {
+      if (decorator instanceof StaticJwtDecorator) {
+        staticDecorators.add((StaticJwtDecorator) decorator);
+      } else {
+        dynamicDecorators.add(decorator);
+      }
+    }
+
+    final String token;
+    try {
+      final String templateToken =
+          assertionTemplate(staticDecorators).sign(jwsSigner, dynamicDecorators);
+      token = templateToken != null ? templateToken : sign(decorators);
+    } catch (final JOSEException joseException) {
+      failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return Result.failure("Failed to sign token");
+    }
+
+    successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    return Result.success(TokenRepresentation.Builder.newInstance().token(token).build());
+  }
 
-    final JWSHeader.Builder headerBuilder = new JWSHeader.Builder(jwsAlgorithm);
+  private JwtAssertionTemplate assertionTemplate(final List<StaticJwtDecorator> staticDecorators) {
+    final JwtAssertionTemplate assertionTemplate = assertionTemplateReference.get();
+    if (assertionTemplate != null
+        && assertionTemplate.getStaticDecorators().equals(staticDecorators)) {
+      return assertionTemplate;
+    }
+
+    final JwtAssertionTemplate newAssertionTemplate =
+        new JwtAssertionTemplate(jwsAlgorithm, staticDecorators);
+    assertionTemplateReference.set(newAssertionTemplate);
+
+    return newAssertionTemplate;
+  }
+
+  private String sign(final JwtDecorator... decorators) throws JOSEException {
+    final Map<String, Object> headers = new HashMap<>();
     final JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder();
 
     for (JwtDecorator decorator : decorators) {
       for (Entry<String, Object> claim : decorator.claims().entrySet()) {
         claimsBuilder.claim(claim.getKey(), claim.getValue());
       }
-      headerBuilder.customParams(decorator.headers());
+      headers.putAll(decorator.headers());
     }
 
+    // set at once, each call replaces the parameters set before
+    final JWSHeader.Builder headerBuilder =
+        new JWSHeader.Builder(jwsAlgorithm).customParams(headers);
+
     final JWTClaimsSet jwtClaimSet = claimsBuilder.build();
 
     final SignedJWT signedJwt = new SignedJWT(headerBuilder.build(), jwtClaimSet);
-    try {
-      signedJwt.sign(jwsSigner);
-    } catch (final JOSEException joseException) {
-      return Result.failure("Failed to sign token");
-    }
+    signedJwt.sign(jwsSigner);
 
-    return Result.success(
-        TokenRepresentation.Builder.newInstance().token(signedJwt.serialize()).build());
+    return signedJwt.serialize();
   }
 }
@@ -13,6 +13,7 @@
  */
 package net.catenax.edc.oauth2.jwt.generator;
 
+import io.micrometer.core.instrument.Metrics;
 import java.security.PrivateKey;
 import lombok.NonNull;
 import lombok.Setter;
@@ -36,7 +37,8 @@ public class JwtTokenGenerationServiceExtension implements ServiceExtension {
   @Override
   public void initialize(@NonNull final ServiceExtensionContext serviceExtensionContext) {
     final PrivateKey privateKey = privateKey(serviceExtensionContext);
-    final TokenGenerationService tokenGenerationService = new JwtTokenGenerationService(privateKey);
+    final TokenGenerationService tokenGenerationService =
+        new JwtTokenGenerationService(privateKey, Metrics.globalRegistry);
 
     serviceExtensionContext.registerService(TokenGenerationService.class, tokenGenerationService);
   }
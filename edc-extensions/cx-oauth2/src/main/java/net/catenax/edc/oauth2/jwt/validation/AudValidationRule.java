@@ -13,12 +13,12 @@
  */
 package net.catenax.edc.oauth2.jwt.validation;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import net.catenax.edc.oauth2.SampledLog;
 import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
 import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
 import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationRule;
@@ -31,7 +31,13 @@ import org.jetbrains.annotations.Nullable;
 public class AudValidationRule implements TokenValidationRule {
   @NonNull private final String audience;
 
-  @NonNull private final Monitor monitor;
+  @NonNull private final SampledLog audienceLog;
+
+  public AudValidationRule(@NonNull final String audience, @NonNull final Monitor monitor) {
+    this(
+        audience,
+        new SampledLog(monitor, SampledLog.DEFAULT_SAMPLE_RATE, SampledLog.DEFAULT_INTERVAL));
+  }
 
   /**
    * Validates the JWT by checking the audience, nbf, and expiration. Accessible for testing.
@@ -43,26 +49,21 @@ public class AudValidationRule implements TokenValidationRule {
   @SneakyThrows
   public Result<Void> checkRule(
       @NotNull ClaimToken toVerify, @Nullable Map<String, Object> additional) {
-    final List<String> errors = new ArrayList<>();
-
     final Object claim = toVerify.getClaims().get(JWTClaimNames.AUDIENCE);
     if (!(claim instanceof List)) {
-      errors.add("Audience claim is not a list");
-    } else {
-      final List<?> audiences = (List<?>) claim;
-      audiences.forEach(a -> monitor.info("RECEIVED DAP AUDIENCE TO VERIFY: " + a));
-
-      if (audiences.isEmpty()) {
-        errors.add("Required audience (aud) claim is missing in token");
-      } else if (!audiences.contains(audience)) {
-        errors.add("Token audience (aud) claim did not contain connector audience: " + audience);
-      }
+      return Result.failure("Audience claim is not a list");
     }
 
-    if (errors.isEmpty()) {
-      return Result.success();
-    } else {
-      return Result.failure(errors);
+    final List<?> audiences = (List<?>) claim;
+    audienceLog.info(() -> "RECEIVED DAP AUDIENCES TO VERIFY: " + audiences);
+
+    if (audiences.isEmpty()) {
+      return Result.failure("Required audience (aud) claim is missing in token");
+    } else if (!audiences.contains(audience)) {
+      return Result.failure(
+          "Token audience (aud) claim did not contain connector audience: " + audience);
     }
+
+    return Result.success();
   }
 }
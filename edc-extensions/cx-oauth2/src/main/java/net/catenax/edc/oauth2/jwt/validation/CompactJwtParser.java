@@ -0,0 +1,318 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Parses signed JWTs in compact serialization. Tokens with only the alg, kid and typ header
+ * parameters and flat claims, like DAPS tokens, are read without the intermediate objects of
+ * {@link SignedJWT#parse(String)}: the segments are located in the token string, decoded into a
+ * buffer reused per thread and read with a streaming json parser. Every other token is parsed by
+ * nimbus, so unusual headers and claims are handled exactly as before.
+ */
+public class CompactJwtParser {
+  // duplicate names are left to nimbus
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory().enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+
+  private static final String ALGORITHM = "alg";
+  private static final String KEY_ID = "kid";
+  private static final String TYPE = "typ";
+
+  private static final Set<String> STRING_CLAIMS =
+      Set.of(JWTClaimNames.ISSUER, JWTClaimNames.SUBJECT, JWTClaimNames.JWT_ID);
+  private static final Set<String> DATE_CLAIMS =
+      Set.of(JWTClaimNames.EXPIRATION_TIME, JWTClaimNames.NOT_BEFORE, JWTClaimNames.ISSUED_AT);
+
+  private static final int INITIAL_BUFFER_SIZE = 2 * 1024;
+  // larger segments are left to nimbus instead of growing the buffer of each thread
+  private static final int MAXIMUM_BUFFER_SIZE = 16 * 1024;
+
+  private static final byte[] BASE64URL_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(BASE64URL_VALUES, (byte) -1);
+    final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64URL_VALUES[alphabet.charAt(i)] = (byte) i;
+    }
+  }
+
+  private final ThreadLocal<byte[]> buffers =
+      ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+  /**
+   * Parses the token.
+   *
+   * @throws ParseException if nimbus cannot parse the token either
+   */
+  public ParsedJwt parse(@NonNull final String token) throws ParseException {
+    final ParsedJwt parsedJwt = parseCompact(token);
+    if (parsedJwt != null) {
+      return parsedJwt;
+    }
+
+    final SignedJWT signedJwt = SignedJWT.parse(token);
+    return new ParsedJwt(
+        signedJwt.getHeader(),
+        signedJwt.getSigningInput(),
+        signedJwt.getSignature(),
+        signedJwt.getJWTClaimsSet().getClaims());
+  }
+
+  /** Returns null if the token is not of the subset read without nimbus, accessible for testing. */
+  @Nullable
+  ParsedJwt parseCompact(final String token) {
+    final int headerEnd = token.indexOf('.');
+    final int payloadEnd = token.indexOf('.', headerEnd + 1);
+    if (headerEnd <= 0
+        || payloadEnd <= headerEnd + 1
+        || payloadEnd == token.length() - 1
+        || token.indexOf('.', payloadEnd + 1) >= 0) {
+      return null;
+    }
+
+    try {
+      final JWSHeader header = parseHeader(token, 0, headerEnd);
+      if (header == null) {
+        return null;
+      }
+
+      final Map<String, Object> claims = parseClaims(token, headerEnd + 1, payloadEnd);
+      if (claims == null) {
+        return null;
+      }
+
+      return new ParsedJwt(
+          header,
+          signingInput(token, payloadEnd),
+          new Base64URL(token.substring(payloadEnd + 1)),
+          claims);
+    } catch (final IOException | RuntimeException exception) {
+      // nimbus reports the error
+      return null;
+    }
+  }
+
+  private @Nullable JWSHeader parseHeader(final String token, final int start, final int end)
+      throws IOException {
+    final byte[] buffer = decode(token, start, end);
+    if (buffer == null) {
+      return null;
+    }
+
+    String algorithm = null;
+    String keyId = null;
+    String type = null;
+    try (final JsonParser parser = createParser(buffer, decodedLength(start, end))) {
+      if (parser == null) {
+        return null;
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.currentName();
+        if (parser.nextToken() != JsonToken.VALUE_STRING) {
+          return null;
+        }
+
+        if (ALGORITHM.equals(name)) {
+          algorithm = parser.getText();
+        } else if (KEY_ID.equals(name)) {
+          keyId = parser.getText();
+        } else if (TYPE.equals(name)) {
+          type = parser.getText();
+        } else {
+          return null;
+        }
+      }
+
+      if (!isEndOfDocument(parser) || algorithm == null) {
+        return null;
+      }
+    }
+
+    final JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+    if (!JWSAlgorithm.Family.SIGNATURE.contains(jwsAlgorithm)) {
+      return null;
+    }
+
+    final JWSHeader.Builder builder = new JWSHeader.Builder(jwsAlgorithm).keyID(keyId);
+    if (type != null) {
+      builder.type(new JOSEObjectType(type));
+    }
+    return builder.build();
+  }
+
+  private @Nullable Map<String, Object> parseClaims(
+      final String token, final int start, final int end) throws IOException {
+    final byte[] buffer = decode(token, start, end);
+    if (buffer == null) {
+      return null;
+    }
+
+    final Map<String, Object> claims = new HashMap<>();
+    try (final JsonParser parser = createParser(buffer, decodedLength(start, end))) {
+      if (parser == null) {
+        return null;
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.currentName();
+        final Object value = readClaim(name, parser);
+        if (value == null) {
+          return null;
+        }
+        claims.put(name, value);
+      }
+
+      if (!isEndOfDocument(parser)) {
+        return null;
+      }
+    }
+
+    return Collections.unmodifiableMap(claims);
+  }
+
+  /** Reads the claim into the type nimbus uses, returns null for values left to nimbus. */
+  private static @Nullable Object readClaim(final String name, final JsonParser parser)
+      throws IOException {
+    final JsonToken valueToken = parser.nextToken();
+
+    if (JWTClaimNames.AUDIENCE.equals(name)) {
+      if (valueToken == JsonToken.VALUE_STRING) {
+        return List.of(parser.getText());
+      }
+      if (valueToken != JsonToken.START_ARRAY) {
+        return null;
+      }
+
+      final List<String> audiences = new ArrayList<>();
+      while (parser.nextToken() == JsonToken.VALUE_STRING) {
+        audiences.add(parser.getText());
+      }
+      return parser.currentToken() == JsonToken.END_ARRAY ? audiences : null;
+    }
+
+    if (valueToken == JsonToken.VALUE_STRING) {
+      return DATE_CLAIMS.contains(name) ? null : parser.getText();
+    }
+
+    if (STRING_CLAIMS.contains(name)) {
+      return null;
+    }
+
+    if (valueToken == JsonToken.VALUE_NUMBER_INT
+        && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+      final long value = parser.getLongValue();
+      return DATE_CLAIMS.contains(name) ? new Date(value * 1000) : Long.valueOf(value);
+    }
+
+    if (DATE_CLAIMS.contains(name)) {
+      return null;
+    }
+
+    if (valueToken == JsonToken.VALUE_TRUE || valueToken == JsonToken.VALUE_FALSE) {
+      return parser.getBooleanValue();
+    }
+
+    // objects, arrays, floating point numbers and null
+    return null;
+  }
+
+  private static @Nullable JsonParser createParser(final byte[] json, final int length)
+      throws IOException {
+    // nimbus reads UTF-8 only, the json parser would detect other encodings by the zero bytes
+    if (length < 2 || json[0] != '{' || json[1] == 0) {
+      return null;
+    }
+
+    final JsonParser parser = JSON_FACTORY.createParser(json, 0, length);
+    parser.nextToken();
+    return parser;
+  }
+
+  private static boolean isEndOfDocument(final JsonParser parser) throws IOException {
+    return parser.currentToken() == JsonToken.END_OBJECT && parser.nextToken() == null;
+  }
+
+  /** Decodes the base64url segment into the buffer of the thread, returns null if invalid. */
+  @Nullable
+  private byte[] decode(final String token, final int start, final int end) {
+    final int length = end - start;
+    final int decodedLength = decodedLength(start, end);
+    if (length % 4 == 1 || decodedLength > MAXIMUM_BUFFER_SIZE) {
+      return null;
+    }
+
+    byte[] buffer = buffers.get();
+    if (buffer.length < decodedLength) {
+      buffer = new byte[MAXIMUM_BUFFER_SIZE];
+      buffers.set(buffer);
+    }
+
+    int bits = 0;
+    int bitCount = 0;
+    int position = 0;
+    for (int i = start; i < end; i++) {
+      final char c = token.charAt(i);
+      final int value = c < BASE64URL_VALUES.length ? BASE64URL_VALUES[c] : -1;
+      if (value < 0) {
+        return null;
+      }
+
+      bits = (bits << 6) | value;
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        buffer[position++] = (byte) (bits >> bitCount);
+      }
+    }
+
+    return buffer;
+  }
+
+  private static int decodedLength(final int start, final int end) {
+    return (end - start) * 6 / 8;
+  }
+
+  private static byte[] signingInput(final String token, final int payloadEnd) {
+    final byte[] signingInput = new byte[payloadEnd];
+    for (int i = 0; i < payloadEnd; i++) {
+      signingInput[i] = (byte) token.charAt(i);
+    }
+    return signingInput;
+  }
+}
@@ -13,14 +13,8 @@
  */
 package net.catenax.edc.oauth2.jwt.validation;
 
-import static java.time.ZoneOffset.UTC;
-
 import java.time.Clock;
-import java.time.Instant;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -45,27 +39,16 @@ public class ExpValidationRule implements TokenValidationRule {
   @Override
   public Result<Void> checkRule(
       @NotNull ClaimToken toVerify, @Nullable Map<String, Object> additional) {
-    final List<String> errors = new ArrayList<>();
-
-    final Instant now = clock.instant();
     final Object claim = toVerify.getClaims().get(JWTClaimNames.EXPIRATION_TIME);
     if (!(claim instanceof Date)) {
-      errors.add("Required expiration (exp) claim is missing in token");
-    } else {
-      final Date expires = (Date) claim;
-      if (now.isAfter(convertToUtcTime(expires))) {
-        errors.add("Token has expired (exp)");
-      }
+      return Result.failure("Required expiration (exp) claim is missing in token");
     }
 
-    if (errors.isEmpty()) {
-      return Result.success();
-    } else {
-      return Result.failure(errors);
+    final Date expires = (Date) claim;
+    if (clock.instant().isAfter(expires.toInstant())) {
+      return Result.failure("Token has expired (exp)");
     }
-  }
 
-  private static Instant convertToUtcTime(Date date) {
-    return ZonedDateTime.ofInstant(date.toInstant(), UTC).toInstant();
+    return Result.success();
   }
 }
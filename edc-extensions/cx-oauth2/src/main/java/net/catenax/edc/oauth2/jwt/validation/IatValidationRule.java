@@ -13,14 +13,9 @@
  */
 package net.catenax.edc.oauth2.jwt.validation;
 
-import static java.time.ZoneOffset.UTC;
-
 import java.time.Clock;
 import java.time.Instant;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -44,33 +39,24 @@ public class IatValidationRule implements TokenValidationRule {
   @Override
   public Result<Void> checkRule(
       @NotNull ClaimToken toVerify, @Nullable Map<String, Object> additional) {
-    List<String> errors = new ArrayList<>();
-
-    Instant now = clock.instant();
     final Object issuedAtClaim = toVerify.getClaims().get(JWTClaimNames.ISSUED_AT);
     if (!(issuedAtClaim instanceof Date)) {
-      errors.add("Issued at (iat) claim is missing in token");
-    } else {
-      final Object expirationTimeClaim = toVerify.getClaims().get(JWTClaimNames.EXPIRATION_TIME);
-      if (expirationTimeClaim instanceof Date) {
-        Date expirationTime = (Date) expirationTimeClaim;
-        Date issuedAt = (Date) issuedAtClaim;
-        if (issuedAt.toInstant().isAfter(expirationTime.toInstant())) {
-          errors.add("Issued at (iat) claim is after expiration time (exp) claim in token");
-        } else if (now.isBefore(convertToUtcTime(issuedAt))) {
-          errors.add("Current date/time before issued at (iat) claim in token");
-        }
-      }
+      return Result.failure("Issued at (iat) claim is missing in token");
     }
 
-    if (errors.isEmpty()) {
-      return Result.success();
-    } else {
-      return Result.failure(errors);
+    final Object expirationTimeClaim = toVerify.getClaims().get(JWTClaimNames.EXPIRATION_TIME);
+    if (expirationTimeClaim instanceof Date) {
+      final Instant expirationTime = ((Date) expirationTimeClaim).toInstant();
+      final Instant issuedAt = ((Date) issuedAtClaim).toInstant();
+      if (issuedAt.isAfter(expirationTime)) {
+        return Result.failure(
+            "Issued at (iat) claim is after expiration time (exp) claim in token");
+      }
+      if (clock.instant().isBefore(issuedAt)) {
+        return Result.failure("Current date/time before issued at (iat) claim in token");
+      }
     }
-  }
 
-  private static Instant convertToUtcTime(Date date) {
-    return ZonedDateTime.ofInstant(date.toInstant(), UTC).toInstant();
+    return Result.success();
   }
 }
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.NonNull;
+
+/**
+ * Remembers the token id (jti) of each token together with a fingerprint of the token, until the
+ * token expires. The same token presented again is accepted, only a token id appearing with
+ * another fingerprint is rejected.
+ *
+ * <p>Token ids are indexed in a single map, so a check is one lookup. For eviction each id is
+ * also listed in one of a fixed ring of buckets chosen by the expiration time of its token, and
+ * the ids of a bucket are dropped together once its time has passed. Tokens living longer than
+ * the ring are kept until the last bucket expires. If the cache is full of unexpired ids, new ids
+ * are rejected rather than left unchecked.
+ */
+public class JtiReplayCache {
+
+  /** Outcome of registering a token id. */
+  public enum Registration {
+    /** The token id is new, or known with the same fingerprint. */
+    ACCEPTED,
+    /** The token id is known with another fingerprint, i.e. belongs to another token. */
+    REUSED,
+    /** The token id is new, but the cache is full of unexpired token ids. */
+    CAPACITY_EXCEEDED
+  }
+
+  private final Clock clock;
+  private final long bucketWidthMillis;
+  private final int maximumSize;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicReferenceArray<Bucket> buckets;
+
+  public JtiReplayCache(
+      @NonNull final Clock clock,
+      @NonNull final Duration bucketWidth,
+      final int bucketCount,
+      final int maximumSize) {
+    if (bucketWidth.isNegative() || bucketWidth.isZero() || bucketCount <= 0) {
+      throw new IllegalArgumentException("Bucket width and count must be positive");
+    }
+
+    this.clock = clock;
+    this.bucketWidthMillis = bucketWidth.toMillis();
+    this.maximumSize = Math.max(0, maximumSize);
+    this.buckets = new AtomicReferenceArray<>(bucketCount);
+  }
+
+  /**
+   * Records the token id with the fingerprint of its token, unless the token id is already known.
+   * A maximum size of {@code 0} disables the cache, every token id is accepted.
+   */
+  public Registration register(
+      @NonNull final String tokenId,
+      @NonNull final String fingerprint,
+      @NonNull final Instant expiresAt) {
+    if (maximumSize == 0) {
+      return Registration.ACCEPTED;
+    }
+
+    final long currentEpoch = clock.millis() / bucketWidthMillis;
+    final long expirationEpoch =
+        Math.min(expiresAt.toEpochMilli() / bucketWidthMillis, currentEpoch + buckets.length() - 1);
+    if (expirationEpoch < currentEpoch) {
+      return Registration.ACCEPTED;
+    }
+
+    final Entry entry = new Entry(fingerprint, expirationEpoch);
+    while (true) {
+      final Entry knownEntry = entries.get(tokenId);
+      if (knownEntry != null && knownEntry.epoch >= currentEpoch) {
+        return knownEntry.fingerprint.equals(fingerprint)
+            ? Registration.ACCEPTED
+            : Registration.REUSED;
+      }
+
+      if (entries.size() >= maximumSize) {
+        evictExpired(currentEpoch);
+        if (entries.size() >= maximumSize) {
+          return Registration.CAPACITY_EXCEEDED;
+        }
+      }
+
+      final boolean stored =
+          knownEntry == null
+              ? entries.putIfAbsent(tokenId, entry) == null
+              : entries.replace(tokenId, knownEntry, entry);
+      if (stored) {
+        bucket(expirationEpoch).tokenIds.add(tokenId);
+        return Registration.ACCEPTED;
+      }
+    }
+  }
+
+  int size() {
+    final long currentEpoch = clock.millis() / bucketWidthMillis;
+    return (int) entries.values().stream().filter(entry -> entry.epoch >= currentEpoch).count();
+  }
+
+  /** Drops all buckets whose time has passed, only called once the cache is full. */
+  private void evictExpired(final long currentEpoch) {
+    for (int slot = 0; slot < buckets.length(); slot++) {
+      final Bucket bucket = buckets.get(slot);
+      if (bucket != null
+          && bucket.epoch < currentEpoch
+          && buckets.compareAndSet(slot, bucket, null)) {
+        drop(bucket);
+      }
+    }
+  }
+
+  /** Returns the bucket of the epoch, dropping the expired bucket that occupied its slot. */
+  private Bucket bucket(final long epoch) {
+    final int slot = (int) (epoch % buckets.length());
+    while (true) {
+      final Bucket bucket = buckets.get(slot);
+      if (bucket != null && bucket.epoch >= epoch) {
+        return bucket;
+      }
+
+      final Bucket newBucket = new Bucket(epoch);
+      if (buckets.compareAndSet(slot, bucket, newBucket)) {
+        if (bucket != null) {
+          drop(bucket);
+        }
+        return newBucket;
+      }
+    }
+  }
+
+  private void drop(final Bucket bucket) {
+    for (final String tokenId : bucket.tokenIds) {
+      // keeps the entry if the token id was registered again for a later epoch
+      entries.computeIfPresent(tokenId, (id, entry) -> entry.epoch <= bucket.epoch ? null : entry);
+    }
+  }
+
+  private static final class Entry {
+    private final String fingerprint;
+    private final long epoch;
+
+    private Entry(final String fingerprint, final long epoch) {
+      this.fingerprint = fingerprint;
+      this.epoch = epoch;
+    }
+  }
+
+  private static final class Bucket {
+    private final long epoch;
+    private final Queue<String> tokenIds = new ConcurrentLinkedQueue<>();
+
+    private Bucket(final long epoch) {
+      this.epoch = epoch;
+    }
+  }
+}
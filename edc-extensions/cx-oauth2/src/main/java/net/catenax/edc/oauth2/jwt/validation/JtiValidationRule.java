@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationRule;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Rejects tokens that reuse the token id (jti) of another token of the same issuer. This is not a
+ * one-time use check: a DAPS token is presented again with every message during its lifetime, so
+ * the identical token is accepted any number of times. Only a token id appearing in a token with
+ * another SHA-256 fingerprint is rejected, as are new token ids while the cache is full.
+ */
+@RequiredArgsConstructor
+public class JtiValidationRule implements TokenValidationRule {
+  static final String TOKEN_ID_REUSED = "Token id (jti) was already used by another token";
+  static final String TOKEN_ID_CACHE_FULL =
+      "Token id (jti) cannot be checked, too many token ids are remembered";
+
+  @NonNull private final JtiReplayCache jtiReplayCache;
+
+  /**
+   * Validates the JWT by checking that the token id belongs to this token only. The token is
+   * fingerprinted by its claims.
+   *
+   * @param toVerify The jwt including the claims.
+   * @param additional No more additional information needed for this validation, can be null.
+   */
+  @Override
+  public Result<Void> checkRule(
+      @NotNull ClaimToken toVerify, @Nullable Map<String, Object> additional) {
+    return checkToken(toVerify, null);
+  }
+
+  /**
+   * Validates the JWT by checking that the token id belongs to this token only.
+   *
+   * @param toVerify The jwt including the claims.
+   * @param tokenDigest The digest of the serialized token as fingerprint, if null the claims are
+   *     digested instead.
+   */
+  Result<Void> checkToken(@NonNull final ClaimToken toVerify, @Nullable final String tokenDigest) {
+    final Map<String, Object> claims = toVerify.getClaims();
+    final Object tokenId = claims.get(JWTClaimNames.JWT_ID);
+    final Object expirationTime = claims.get(JWTClaimNames.EXPIRATION_TIME);
+    if (!(tokenId instanceof String) || !(expirationTime instanceof Date)) {
+      return Result.success();
+    }
+
+    final String issuerTokenId = claims.get(JWTClaimNames.ISSUER) + " " + tokenId;
+    final String fingerprint = tokenDigest != null ? tokenDigest : claimsDigest(claims);
+    switch (jtiReplayCache.register(
+        issuerTokenId, fingerprint, ((Date) expirationTime).toInstant())) {
+      case REUSED:
+        return Result.failure(TOKEN_ID_REUSED);
+      case CAPACITY_EXCEEDED:
+        return Result.failure(TOKEN_ID_CACHE_FULL);
+      default:
+        return Result.success();
+    }
+  }
+
+  /** Digests the claims sorted by name, each name and value prefixed by its length. */
+  private static String claimsDigest(final Map<String, Object> claims) {
+    final StringBuilder canonicalClaims = new StringBuilder();
+    for (final Map.Entry<String, Object> claim : new TreeMap<>(claims).entrySet()) {
+      final String value = String.valueOf(claim.getValue());
+      canonicalClaims.append(claim.getKey().length()).append(':').append(claim.getKey());
+      canonicalClaims.append(value.length()).append(':').append(value);
+    }
+    return VerifiedTokenCache.digest(canonicalClaims.toString());
+  }
+}
@@ -13,31 +13,41 @@
  */
 package net.catenax.edc.oauth2.jwt.validation;
 
+import io.micrometer.core.instrument.Metrics;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.Setter;
+import net.catenax.edc.oauth2.SampledLog;
+import net.catenax.edc.oauth2.http.IdentityHttpClient;
+import net.catenax.edc.oauth2.jwk.CompositeJwkPublicKeyResolver;
+import net.catenax.edc.oauth2.jwk.EcPublicKeyReader;
+import net.catenax.edc.oauth2.jwk.Ed25519PublicKeyReader;
+import net.catenax.edc.oauth2.jwk.JsonWebKeySetFile;
 import net.catenax.edc.oauth2.jwk.JwkPublicKeyResolver;
 import net.catenax.edc.oauth2.jwk.PublicKeyReader;
 import net.catenax.edc.oauth2.jwk.RsaPublicKeyReader;
-import okhttp3.OkHttpClient;
 import org.eclipse.dataspaceconnector.iam.oauth2.spi.Oauth2ValidationRulesRegistry;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.EdcSetting;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Inject;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Provides;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Requires;
 import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationService;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.jetbrains.annotations.Nullable;
 
 @Provides(TokenValidationService.class)
-@Requires({OkHttpClient.class, Clock.class})
+@Requires({IdentityHttpClient.class, Clock.class})
 public class JwtValidationExtension implements ServiceExtension {
 
   @EdcSetting private static final String EDC_IDS_ENDPOINT_AUDIENCE = "edc.ids.endpoint.audience";
@@ -50,20 +60,78 @@ public class JwtValidationExtension implements ServiceExtension {
 
   private static final Duration DEFAULT_PROVIDER_JWKS_REFRESH = Duration.ofMinutes(5);
 
+  @EdcSetting
+  private static final String PROVIDER_JWKS_REFRESH_ON_DEMAND_INTERVAL =
+      "edc.oauth.provider.jwks.refresh.on.demand.interval"; // in seconds
+
+  private static final Duration DEFAULT_PROVIDER_JWKS_REFRESH_ON_DEMAND_INTERVAL =
+      Duration.ofSeconds(30);
+
+  @EdcSetting
+  private static final String PROVIDER_JWKS_REFRESH_ON_DEMAND_TIMEOUT =
+      "edc.oauth.provider.jwks.refresh.on.demand.timeout"; // in milliseconds
+
   @EdcSetting private static final String PROVIDER_JWKS_URL = "edc.oauth.provider.jwks.url";
   private static final String DEFAULT_JWKS_URL = "http://localhost/empty_jwks_url";
 
+  @EdcSetting
+  private static final String PROVIDER_JWKS_SNAPSHOT_DIRECTORY =
+      "edc.oauth.provider.jwks.snapshot.directory";
+
+  @EdcSetting private static final String TOKEN_CACHE_SIZE = "edc.oauth.validation.cache.size";
+  private static final int DEFAULT_TOKEN_CACHE_SIZE = 1000;
+
   @EdcSetting
   public static final String EDC_IDS_VALIDATION_REFERRINGCONNECTOR =
       "edc.ids.validation.referringconnector";
 
   public static final boolean DEFAULT_EDC_IDS_VALIDATION_REFERRINGCONNECTOR = false;
 
-  @Inject @Setter private OkHttpClient okHttpClient;
+  @EdcSetting
+  private static final String VALIDATION_FULL_DIAGNOSTICS = "edc.oauth.validation.diagnostics.full";
+
+  private static final boolean DEFAULT_VALIDATION_FULL_DIAGNOSTICS = false;
+
+  @EdcSetting private static final String JTI_CACHE_SIZE = "edc.oauth.validation.jti.cache.size";
+  private static final int DEFAULT_JTI_CACHE_SIZE = 10000;
+
+  @EdcSetting
+  private static final String JTI_CACHE_BUCKET_WIDTH =
+      "edc.oauth.validation.jti.cache.bucket.width"; // in seconds
+
+  private static final Duration DEFAULT_JTI_CACHE_BUCKET_WIDTH = Duration.ofMinutes(1);
+  private static final int JTI_CACHE_BUCKET_COUNT = 64;
+
+  @EdcSetting
+  private static final String VERIFY_EXECUTOR_ENABLED =
+      "edc.oauth.validation.verify.executor.enabled";
+
+  private static final boolean DEFAULT_VERIFY_EXECUTOR_ENABLED = false;
+
+  @EdcSetting
+  private static final String VERIFY_EXECUTOR_THREADS =
+      "edc.oauth.validation.verify.executor.threads";
+
+  @EdcSetting
+  private static final String VERIFY_EXECUTOR_QUEUE_SIZE =
+      "edc.oauth.validation.verify.executor.queue.size";
+
+  private static final int DEFAULT_VERIFY_EXECUTOR_QUEUE_SIZE_PER_THREAD = 8;
+
+  @EdcSetting
+  private static final String LOG_SAMPLE_RATE = "edc.oauth.validation.log.sample.rate";
+
+  @EdcSetting
+  private static final String LOG_SAMPLE_INTERVAL =
+      "edc.oauth.validation.log.sample.interval"; // in seconds
+
+  @Inject @Setter private IdentityHttpClient identityHttpClient;
 
   @Inject @Setter private Clock clock;
 
-  private JwkPublicKeyResolver jwkPublicKeyResolver;
+  private CompositeJwkPublicKeyResolver jwkPublicKeyResolver;
+
+  private SignatureVerificationExecutor signatureVerificationExecutor;
 
   @Override
   public void initialize(@NonNull final ServiceExtensionContext serviceExtensionContext) {
@@ -72,21 +140,29 @@ public class JwtValidationExtension implements ServiceExtension {
         oauth2ValidationRulesRegistry(serviceExtensionContext);
 
     this.jwkPublicKeyResolver = jwkPublicKeyResolver(serviceExtensionContext);
+    this.signatureVerificationExecutor = signatureVerificationExecutor(serviceExtensionContext);
 
     final TokenValidationService tokenValidationService =
-        new TokenValidationServiceImpl(jwkPublicKeyResolver, oauth2ValidationRulesRegistry);
+        new TokenValidationServiceImpl(
+            jwkPublicKeyResolver,
+            tokenValidationRulePipeline(serviceExtensionContext, oauth2ValidationRulesRegistry),
+            verifiedTokenCache(serviceExtensionContext),
+            signatureVerificationExecutor,
+            Metrics.globalRegistry);
 
     serviceExtensionContext.registerService(TokenValidationService.class, tokenValidationService);
   }
 
   @Override
   public void start() {
-    Optional.ofNullable(jwkPublicKeyResolver).ifPresent(JwkPublicKeyResolver::start);
+    Optional.ofNullable(jwkPublicKeyResolver).ifPresent(CompositeJwkPublicKeyResolver::start);
   }
 
   @Override
   public void shutdown() {
-    Optional.ofNullable(jwkPublicKeyResolver).ifPresent(JwkPublicKeyResolver::stop);
+    Optional.ofNullable(jwkPublicKeyResolver).ifPresent(CompositeJwkPublicKeyResolver::stop);
+    Optional.ofNullable(signatureVerificationExecutor)
+        .ifPresent(SignatureVerificationExecutor::shutdown);
   }
 
   private Oauth2ValidationRulesRegistry oauth2ValidationRulesRegistry(
@@ -98,34 +174,120 @@ public class JwtValidationExtension implements ServiceExtension {
             expValidationRule(),
             iatValidationRule(),
             nbfValidationRule(serviceExtensionContext),
-            idsValidationRule(serviceExtensionContext))
+            idsValidationRule(serviceExtensionContext),
+            jtiValidationRule(serviceExtensionContext))
         .forEach(oauth2ValidationRulesRegistry::addRule);
 
     return oauth2ValidationRulesRegistry;
   }
 
-  private JwkPublicKeyResolver jwkPublicKeyResolver(
+  private TokenValidationRulePipeline tokenValidationRulePipeline(
+      final ServiceExtensionContext serviceExtensionContext,
+      final Oauth2ValidationRulesRegistry oauth2ValidationRulesRegistry) {
+    final boolean fullDiagnostics =
+        serviceExtensionContext.getSetting(
+            VALIDATION_FULL_DIAGNOSTICS, DEFAULT_VALIDATION_FULL_DIAGNOSTICS);
+
+    return new TokenValidationRulePipeline(
+        oauth2ValidationRulesRegistry.getRules(), fullDiagnostics, Metrics.globalRegistry);
+  }
+
+  private CompositeJwkPublicKeyResolver jwkPublicKeyResolver(
       final ServiceExtensionContext serviceExtensionContext) {
-    final URI jsonWebKeySetUri =
-        URI.create(
-            serviceExtensionContext.getConfig().getString(PROVIDER_JWKS_URL, DEFAULT_JWKS_URL));
+    final List<URI> jsonWebKeySetUris =
+        Arrays.stream(
+                serviceExtensionContext
+                    .getConfig()
+                    .getString(PROVIDER_JWKS_URL, DEFAULT_JWKS_URL)
+                    .split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(URI::create)
+            .collect(Collectors.toList());
     final Duration refreshInterval =
         Duration.ofMinutes(
             serviceExtensionContext
                 .getConfig()
                 .getLong(PROVIDER_JWKS_REFRESH, DEFAULT_PROVIDER_JWKS_REFRESH.toMinutes()));
+    final Duration onDemandRefreshInterval =
+        Duration.ofSeconds(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(
+                    PROVIDER_JWKS_REFRESH_ON_DEMAND_INTERVAL,
+                    DEFAULT_PROVIDER_JWKS_REFRESH_ON_DEMAND_INTERVAL.toSeconds()));
 
-    final RsaPublicKeyReader rsaPublicKeyReader =
-        new RsaPublicKeyReader(serviceExtensionContext.getMonitor());
-    final List<PublicKeyReader> publicKeyReaders = Collections.singletonList(rsaPublicKeyReader);
+    final Monitor monitor = serviceExtensionContext.getMonitor();
+    final List<PublicKeyReader> publicKeyReaders =
+        List.of(
+            new RsaPublicKeyReader(monitor),
+            new EcPublicKeyReader(monitor),
+            new Ed25519PublicKeyReader(monitor));
 
-    return new JwkPublicKeyResolver(
-        jsonWebKeySetUri,
-        okHttpClient,
-        serviceExtensionContext.getTypeManager(),
-        serviceExtensionContext.getMonitor(),
-        publicKeyReaders,
-        refreshInterval);
+    final List<JwkPublicKeyResolver> resolvers =
+        jsonWebKeySetUris.stream()
+            .map(
+                jsonWebKeySetUri ->
+                    new JwkPublicKeyResolver(
+                        jsonWebKeySetUri,
+                        identityHttpClient.getOkHttpClient(),
+                        serviceExtensionContext.getTypeManager(),
+                        monitor,
+                        publicKeyReaders,
+                        refreshInterval,
+                        onDemandRefreshInterval,
+                        clock,
+                        Metrics.globalRegistry,
+                        jsonWebKeySetFile(serviceExtensionContext, jsonWebKeySetUri)))
+            .collect(Collectors.toList());
+
+    final Duration onDemandTimeout =
+        Duration.ofMillis(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(
+                    PROVIDER_JWKS_REFRESH_ON_DEMAND_TIMEOUT,
+                    CompositeJwkPublicKeyResolver.DEFAULT_ON_DEMAND_TIMEOUT.toMillis()));
+
+    return new CompositeJwkPublicKeyResolver(resolvers, onDemandTimeout);
+  }
+
+  private @Nullable JsonWebKeySetFile jsonWebKeySetFile(
+      final ServiceExtensionContext serviceExtensionContext, final URI jsonWebKeySetUri) {
+    final String snapshotDirectory =
+        serviceExtensionContext.getSetting(PROVIDER_JWKS_SNAPSHOT_DIRECTORY, null);
+    if (snapshotDirectory == null) {
+      return null;
+    }
+
+    return JsonWebKeySetFile.of(
+        Path.of(snapshotDirectory), jsonWebKeySetUri, serviceExtensionContext.getTypeManager());
+  }
+
+  private VerifiedTokenCache verifiedTokenCache(
+      final ServiceExtensionContext serviceExtensionContext) {
+    final int maximumSize =
+        serviceExtensionContext.getSetting(TOKEN_CACHE_SIZE, DEFAULT_TOKEN_CACHE_SIZE);
+
+    return new VerifiedTokenCache(
+        clock, notBeforeLeeway(serviceExtensionContext), maximumSize, Metrics.globalRegistry);
+  }
+
+  private @Nullable SignatureVerificationExecutor signatureVerificationExecutor(
+      final ServiceExtensionContext serviceExtensionContext) {
+    if (!serviceExtensionContext.getSetting(
+        VERIFY_EXECUTOR_ENABLED, DEFAULT_VERIFY_EXECUTOR_ENABLED)) {
+      return null;
+    }
+
+    final int threads =
+        serviceExtensionContext.getSetting(
+            VERIFY_EXECUTOR_THREADS, Runtime.getRuntime().availableProcessors());
+    final int queueSize =
+        serviceExtensionContext.getSetting(
+            VERIFY_EXECUTOR_QUEUE_SIZE, threads * DEFAULT_VERIFY_EXECUTOR_QUEUE_SIZE_PER_THREAD);
+
+    return new SignatureVerificationExecutor(threads, queueSize, Metrics.globalRegistry);
   }
 
   private AudValidationRule audValidationRule(
@@ -134,7 +296,21 @@ public class JwtValidationExtension implements ServiceExtension {
         Objects.requireNonNull(
             serviceExtensionContext.getConfig().getString(EDC_IDS_ENDPOINT_AUDIENCE));
 
-    return new AudValidationRule(audience, serviceExtensionContext.getMonitor());
+    return new AudValidationRule(audience, sampledLog(serviceExtensionContext));
+  }
+
+  private SampledLog sampledLog(final ServiceExtensionContext serviceExtensionContext) {
+    final long sampleRate =
+        serviceExtensionContext
+            .getConfig()
+            .getLong(LOG_SAMPLE_RATE, SampledLog.DEFAULT_SAMPLE_RATE);
+    final Duration interval =
+        Duration.ofSeconds(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(LOG_SAMPLE_INTERVAL, SampledLog.DEFAULT_INTERVAL.toSeconds()));
+
+    return new SampledLog(serviceExtensionContext.getMonitor(), sampleRate, interval);
   }
 
   private ExpValidationRule expValidationRule() {
@@ -147,13 +323,14 @@ public class JwtValidationExtension implements ServiceExtension {
 
   private NbfValidationRule nbfValidationRule(
       final ServiceExtensionContext serviceExtensionContext) {
-    final Duration nbfLeeway =
-        Duration.ofSeconds(
-            serviceExtensionContext
-                .getConfig()
-                .getLong(NOT_BEFORE_LEEWAY, DEFAULT_NOT_BEFORE_LEEWAY.toSeconds()));
+    return new NbfValidationRule(notBeforeLeeway(serviceExtensionContext), clock);
+  }
 
-    return new NbfValidationRule(nbfLeeway, clock);
+  private Duration notBeforeLeeway(final ServiceExtensionContext serviceExtensionContext) {
+    return Duration.ofSeconds(
+        serviceExtensionContext
+            .getConfig()
+            .getLong(NOT_BEFORE_LEEWAY, DEFAULT_NOT_BEFORE_LEEWAY.toSeconds()));
   }
 
   private IdsValidationRule idsValidationRule(
@@ -164,4 +341,18 @@ public class JwtValidationExtension implements ServiceExtension {
 
     return new IdsValidationRule(validateReferring);
   }
+
+  private JtiValidationRule jtiValidationRule(
+      final ServiceExtensionContext serviceExtensionContext) {
+    final int maximumSize =
+        serviceExtensionContext.getSetting(JTI_CACHE_SIZE, DEFAULT_JTI_CACHE_SIZE);
+    final Duration bucketWidth =
+        Duration.ofSeconds(
+            serviceExtensionContext
+                .getConfig()
+                .getLong(JTI_CACHE_BUCKET_WIDTH, DEFAULT_JTI_CACHE_BUCKET_WIDTH.toSeconds()));
+
+    return new JtiValidationRule(
+        new JtiReplayCache(clock, bucketWidth, JTI_CACHE_BUCKET_COUNT, maximumSize));
+  }
 }
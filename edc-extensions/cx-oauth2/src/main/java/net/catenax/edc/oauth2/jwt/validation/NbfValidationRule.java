@@ -13,15 +13,10 @@
  */
 package net.catenax.edc.oauth2.jwt.validation;
 
-import static java.time.ZoneOffset.UTC;
-
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -47,29 +42,18 @@ public class NbfValidationRule implements TokenValidationRule {
   @Override
   public Result<Void> checkRule(
       @NotNull ClaimToken toVerify, @Nullable Map<String, Object> additional) {
-    final List<String> errors = new ArrayList<>();
-
-    final Instant now = clock.instant();
-    final Instant leewayNow = now.plusSeconds(notBeforeValidationLeeway.toSeconds());
-
     final Object claim = toVerify.getClaims().get(JWTClaimNames.NOT_BEFORE);
     if (!(claim instanceof Date)) {
-      errors.add("Required not before (nbf) claim is missing in token");
-    } else {
-      final Date notBefore = (Date) claim;
-      if (leewayNow.isBefore(dateToInstant(notBefore))) {
-        errors.add("Current date/time with leeway before the not before (nbf) claim in token");
-      }
+      return Result.failure("Required not before (nbf) claim is missing in token");
     }
 
-    if (errors.isEmpty()) {
-      return Result.success();
-    } else {
-      return Result.failure(errors);
+    final Instant leewayNow = clock.instant().plusSeconds(notBeforeValidationLeeway.toSeconds());
+    final Date notBefore = (Date) claim;
+    if (leewayNow.isBefore(notBefore.toInstant())) {
+      return Result.failure(
+          "Current date/time with leeway before the not before (nbf) claim in token");
     }
-  }
 
-  private static Instant dateToInstant(final Date date) {
-    return ZonedDateTime.ofInstant(date.toInstant(), UTC).toInstant();
+    return Result.success();
   }
 }
@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.util.Base64URL;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Signed JWT as read by {@link CompactJwtParser}. The claims have the same types as the claims of
+ * a nimbus {@link com.nimbusds.jwt.JWTClaimsSet}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class ParsedJwt {
+  @Getter @NonNull private final JWSHeader header;
+
+  @NonNull private final byte[] signingInput;
+
+  @NonNull private final Base64URL signature;
+
+  @Getter @NonNull private final Map<String, Object> claims;
+
+  public boolean verify(@NonNull final JWSVerifier verifier) throws JOSEException {
+    return verifier.verify(header, signingInput, signature);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+
+/**
+ * Runs token signature verifications on a fixed number of threads, so that a burst of IDS messages
+ * cannot occupy every request thread with signature checks. Verifications exceeding the threads
+ * wait in a bounded queue. If the queue is full, the verification is rejected right away and the
+ * sender may retry later.
+ */
+public class SignatureVerificationExecutor {
+  private static final String THREAD_NAME = "oauth2-signature-verification-";
+  private static final String METRIC_QUEUED = "edc.oauth2.token.verify.queued";
+
+  private final ThreadPoolExecutor threadPoolExecutor;
+
+  public SignatureVerificationExecutor(
+      final int threads, final int queueSize, @NonNull final MeterRegistry meterRegistry) {
+    if (threads < 1 || queueSize < 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Threads and queue size must be at least 1: %d, %d", threads, queueSize));
+    }
+
+    this.threadPoolExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            threadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder(METRIC_QUEUED, threadPoolExecutor, executor -> executor.getQueue().size())
+        .register(meterRegistry);
+  }
+
+  /**
+   * Verifies the signature of the token on one of the verification threads and waits for the
+   * result.
+   *
+   * @throws RejectedExecutionException if the queue is full, the waiting thread is interrupted or
+   *     the executor is shut down
+   */
+  public boolean verify(@NonNull final ParsedJwt parsedJwt, @NonNull final JWSVerifier verifier)
+      throws JOSEException {
+    final Future<Boolean> future = threadPoolExecutor.submit(() -> parsedJwt.verify(verifier));
+
+    try {
+      return future.get();
+    } catch (final InterruptedException interruptedException) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException(interruptedException);
+    } catch (final CancellationException cancellationException) {
+      throw new RejectedExecutionException(cancellationException);
+    } catch (final ExecutionException executionException) {
+      final Throwable cause = executionException.getCause();
+      if (cause instanceof JOSEException) {
+        throw (JOSEException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new EdcException(cause);
+    }
+  }
+
+  /** Stops the threads, waiting verifications are rejected. */
+  public void shutdown() {
+    threadPoolExecutor.shutdownNow().forEach(runnable -> ((Future<?>) runnable).cancel(false));
+  }
+
+  private static ThreadFactory threadFactory() {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, THREAD_NAME + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationRule;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Fixed sequence of token validation rules, compiled once from the registered rules. Rules that
+ * only compare timestamps run before rules that inspect audiences or the ids message, and the
+ * pipeline stops at the first failing rule unless full diagnostics are requested. The token id
+ * replay rule runs last.
+ */
+public class TokenValidationRulePipeline {
+  private static final int COST_TIMESTAMP = 0;
+  private static final int COST_AUDIENCE = 1;
+  private static final int COST_OTHER = 2;
+  private static final int COST_REPLAY = 3;
+
+  private static final String METRIC_RULE = "edc.oauth2.token.rule";
+  private static final String TAG_RULE = "rule";
+  private static final String TAG_OUTCOME = "outcome";
+
+  private final TokenValidationRule[] rules;
+  private final boolean fullDiagnostics;
+
+  private final Timer[] successTimers;
+  private final Timer[] failureTimers;
+
+  public TokenValidationRulePipeline(
+      @NonNull final List<TokenValidationRule> rules,
+      final boolean fullDiagnostics,
+      @NonNull final MeterRegistry meterRegistry) {
+    // stable sort, rules of the same cost keep their registration order
+    final List<TokenValidationRule> orderedRules = new ArrayList<>(rules);
+    orderedRules.sort(Comparator.comparingInt(TokenValidationRulePipeline::cost));
+
+    this.rules = orderedRules.toArray(new TokenValidationRule[0]);
+    this.fullDiagnostics = fullDiagnostics;
+
+    this.successTimers = new Timer[this.rules.length];
+    this.failureTimers = new Timer[this.rules.length];
+    for (int i = 0; i < this.rules.length; i++) {
+      final String ruleName = this.rules[i].getClass().getSimpleName();
+      successTimers[i] = ruleTimer(ruleName, "success", meterRegistry);
+      failureTimers[i] = ruleTimer(ruleName, "failure", meterRegistry);
+    }
+  }
+
+  private static Timer ruleTimer(
+      final String ruleName, final String outcome, final MeterRegistry meterRegistry) {
+    return Timer.builder(METRIC_RULE)
+        .tag(TAG_RULE, ruleName)
+        .tag(TAG_OUTCOME, outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the rules against the claim token.
+   *
+   * @return the failure messages, empty if all rules succeeded
+   */
+  public List<String> check(final ClaimToken claimToken, final Map<String, Object> additional) {
+    return check(claimToken, additional, null);
+  }
+
+  /**
+   * Runs the rules against the claim token, the token id replay rule fingerprints the token by its
+   * digest.
+   *
+   * @return the failure messages, empty if all rules succeeded
+   */
+  public List<String> check(
+      final ClaimToken claimToken,
+      final Map<String, Object> additional,
+      @Nullable final String tokenDigest) {
+    List<String> errors = null;
+    for (int i = 0; i < rules.length; i++) {
+      final long start = System.nanoTime();
+      final Result<Void> result =
+          rules[i] instanceof JtiValidationRule
+              ? ((JtiValidationRule) rules[i]).checkToken(claimToken, tokenDigest)
+              : rules[i].checkRule(claimToken, additional);
+      final long duration = System.nanoTime() - start;
+      if (result.succeeded()) {
+        successTimers[i].record(duration, TimeUnit.NANOSECONDS);
+        continue;
+      }
+
+      failureTimers[i].record(duration, TimeUnit.NANOSECONDS);
+
+      if (!fullDiagnostics) {
+        return result.getFailureMessages();
+      }
+
+      if (errors == null) {
+        errors = new ArrayList<>();
+      }
+      errors.addAll(result.getFailureMessages());
+    }
+
+    return errors == null ? Collections.emptyList() : errors;
+  }
+
+  List<TokenValidationRule> getRules() {
+    return List.of(rules);
+  }
+
+  private static int cost(final TokenValidationRule rule) {
+    if (rule instanceof ExpValidationRule
+        || rule instanceof NbfValidationRule
+        || rule instanceof IatValidationRule) {
+      return COST_TIMESTAMP;
+    }
+    if (rule instanceof AudValidationRule) {
+      return COST_AUDIENCE;
+    }
+    // only tokens passing all other rules are remembered
+    if (rule instanceof JtiValidationRule) {
+      return COST_REPLAY;
+    }
+    return COST_OTHER;
+  }
+}
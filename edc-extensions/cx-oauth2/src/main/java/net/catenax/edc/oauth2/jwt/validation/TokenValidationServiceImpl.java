@@ -17,61 +17,145 @@ package net.catenax.edc.oauth2.jwt.validation;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
-import java.security.PublicKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.text.ParseException;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import net.catenax.edc.oauth2.jwk.JwsVerifierResolver;
+import net.catenax.edc.oauth2.jwt.validation.VerifiedTokenCache.VerifiedToken;
 import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
-import org.eclipse.dataspaceconnector.spi.iam.PublicKeyResolver;
 import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
-import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationRulesRegistry;
 import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationService;
 import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.jetbrains.annotations.Nullable;
 
-@RequiredArgsConstructor
 public class TokenValidationServiceImpl implements TokenValidationService {
+  private static final String METRIC_PARSE = "edc.oauth2.token.parse";
+  private static final String METRIC_VERIFY = "edc.oauth2.token.verify";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String OUTCOME_SUCCESS = "success";
+  private static final String OUTCOME_FAILURE = "failure";
+  private static final String OUTCOME_UNKNOWN_KEY = "unknown_key";
+  private static final String OUTCOME_REJECTED = "rejected";
 
-  @NonNull private final PublicKeyResolver publicKeyResolver;
+  static final String VERIFICATION_REJECTED =
+      "Token verification rejected, too many tokens are being verified, retry later";
 
-  @NonNull private final TokenValidationRulesRegistry rulesRegistry;
+  private final JwsVerifierResolver jwsVerifierResolver;
+
+  private final TokenValidationRulePipeline rulePipeline;
+
+  private final VerifiedTokenCache verifiedTokenCache;
+
+  /** Verifies signatures on threads of its own, on the calling thread if {@code null}. */
+  @Nullable private final SignatureVerificationExecutor signatureVerificationExecutor;
+
+  private final CompactJwtParser jwtParser = new CompactJwtParser();
+
+  private final Timer parseSuccessTimer;
+  private final Timer parseFailureTimer;
+
+  /** Resolution of the verifier, which may refresh the key set, and signature verification. */
+  private final Timer verifySuccessTimer;
+
+  private final Timer verifyFailureTimer;
+  private final Timer verifyUnknownKeyTimer;
+  private final Timer verifyRejectedTimer;
+
+  public TokenValidationServiceImpl(
+      @NonNull final JwsVerifierResolver jwsVerifierResolver,
+      @NonNull final TokenValidationRulePipeline rulePipeline,
+      @NonNull final VerifiedTokenCache verifiedTokenCache,
+      @NonNull final MeterRegistry meterRegistry) {
+    this(jwsVerifierResolver, rulePipeline, verifiedTokenCache, null, meterRegistry);
+  }
+
+  public TokenValidationServiceImpl(
+      @NonNull final JwsVerifierResolver jwsVerifierResolver,
+      @NonNull final TokenValidationRulePipeline rulePipeline,
+      @NonNull final VerifiedTokenCache verifiedTokenCache,
+      @Nullable final SignatureVerificationExecutor signatureVerificationExecutor,
+      @NonNull final MeterRegistry meterRegistry) {
+    this.jwsVerifierResolver = jwsVerifierResolver;
+    this.rulePipeline = rulePipeline;
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.signatureVerificationExecutor = signatureVerificationExecutor;
+
+    this.parseSuccessTimer = timer(METRIC_PARSE, OUTCOME_SUCCESS, meterRegistry);
+    this.parseFailureTimer = timer(METRIC_PARSE, OUTCOME_FAILURE, meterRegistry);
+    this.verifySuccessTimer = timer(METRIC_VERIFY, OUTCOME_SUCCESS, meterRegistry);
+    this.verifyFailureTimer = timer(METRIC_VERIFY, OUTCOME_FAILURE, meterRegistry);
+    this.verifyUnknownKeyTimer = timer(METRIC_VERIFY, OUTCOME_UNKNOWN_KEY, meterRegistry);
+    this.verifyRejectedTimer = timer(METRIC_VERIFY, OUTCOME_REJECTED, meterRegistry);
+  }
+
+  private static Timer timer(
+      final String name, final String outcome, final MeterRegistry meterRegistry) {
+    return Timer.builder(name).tag(TAG_OUTCOME, outcome).register(meterRegistry);
+  }
 
   @Override
   public Result<ClaimToken> validate(@NonNull final TokenRepresentation tokenRepresentation) {
     final String token = tokenRepresentation.getToken();
     final Map<String, Object> additional = tokenRepresentation.getAdditional();
-    final JWTClaimsSet claimsSet;
+
+    // fingerprint of the token for the cache and the token id replay rule
+    final String tokenDigest = VerifiedTokenCache.digest(token);
+
+    final VerifiedToken cachedToken = verifiedTokenCache.getByDigest(tokenDigest);
+    if (cachedToken != null) {
+      // the signature is already verified, but rules may depend on the additional information
+      final List<String> errors =
+          rulePipeline.check(cachedToken.getClaimToken(), additional, tokenDigest);
+      if (!errors.isEmpty()) {
+        return Result.failure(errors);
+      }
+
+      return Result.success(cachedToken.getResultToken());
+    }
+
+    final ParsedJwt parsedJwt;
+    final long parseStart = System.nanoTime();
+    try {
+      parsedJwt = jwtParser.parse(token);
+      parseSuccessTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+    } catch (final ParseException e) {
+      parseFailureTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+      return Result.failure("Failed to decode token");
+    }
+
     try {
-      final SignedJWT signedJwt = SignedJWT.parse(token);
-      final String publicKeyId = signedJwt.getHeader().getKeyID();
-      final Result<JWSVerifier> verifierCreationResult =
-          createVerifier(signedJwt.getHeader(), publicKeyId);
+      final long verifyStart = System.nanoTime();
+      final Result<JWSVerifier> verifierCreationResult = createVerifier(parsedJwt.getHeader());
 
       if (verifierCreationResult.failed()) {
+        verifyUnknownKeyTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
         return Result.failure(verifierCreationResult.getFailureMessages());
       }
 
-      if (!signedJwt.verify(verifierCreationResult.getContent())) {
+      final boolean verified;
+      try {
+        verified = verify(parsedJwt, verifierCreationResult.getContent());
+      } catch (final RejectedExecutionException e) {
+        verifyRejectedTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
+        return Result.failure(VERIFICATION_REJECTED);
+      }
+
+      final Timer verifyTimer = verified ? verifySuccessTimer : verifyFailureTimer;
+      verifyTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
+      if (!verified) {
         return Result.failure("Token verification failed");
       }
 
-      claimsSet = signedJwt.getJWTClaimsSet();
-      var claimToken = ClaimToken.Builder.newInstance().claims(claimsSet.getClaims()).build();
+      final Map<String, Object> claims = parsedJwt.getClaims();
+      var claimToken = ClaimToken.Builder.newInstance().claims(claims).build();
 
-      final List<String> errors =
-          rulesRegistry.getRules().stream()
-              .map(r -> r.checkRule(claimToken, additional))
-              .filter(Result::failed)
-              .map(Result::getFailureMessages)
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
+      final List<String> errors = rulePipeline.check(claimToken, additional, tokenDigest);
 
       if (!errors.isEmpty()) {
         return Result.failure(errors);
@@ -79,27 +163,36 @@ public class TokenValidationServiceImpl implements TokenValidationService {
 
       final ClaimToken.Builder tokenBuilder = ClaimToken.Builder.newInstance();
 
-      claimsSet.getClaims().entrySet().stream()
-          .map(entry -> Map.entry(entry.getKey(), Objects.toString(entry.getValue())))
-          .filter(entry -> entry.getValue() != null)
-          .forEach(entry -> tokenBuilder.claim(entry.getKey(), entry.getValue()));
+      for (final Map.Entry<String, Object> claim : claims.entrySet()) {
+        tokenBuilder.claim(claim.getKey(), Objects.toString(claim.getValue()));
+      }
+
+      final ClaimToken resultToken = tokenBuilder.build();
+      verifiedTokenCache.putByDigest(tokenDigest, claimToken, resultToken);
 
-      return Result.success(tokenBuilder.build());
+      return Result.success(resultToken);
 
     } catch (final JOSEException e) {
       return Result.failure(e.getMessage());
-    } catch (final ParseException e) {
-      return Result.failure("Failed to decode token");
     }
   }
 
-  private Result<JWSVerifier> createVerifier(final JWSHeader header, final String publicKeyId) {
-    final PublicKey publicKey = publicKeyResolver.resolveKey(publicKeyId);
-    if (publicKey == null) {
-      return Result.failure("Failed to resolve public key with id: " + publicKeyId);
+  private boolean verify(final ParsedJwt parsedJwt, final JWSVerifier verifier)
+      throws JOSEException {
+    if (signatureVerificationExecutor == null) {
+      return parsedJwt.verify(verifier);
     }
+
+    return signatureVerificationExecutor.verify(parsedJwt, verifier);
+  }
+
+  private Result<JWSVerifier> createVerifier(final JWSHeader header) {
     try {
-      return Result.success(new DefaultJWSVerifierFactory().createJWSVerifier(header, publicKey));
+      final JWSVerifier verifier = jwsVerifierResolver.resolveVerifier(header);
+      if (verifier == null) {
+        return Result.failure("Failed to resolve public key with id: " + header.getKeyID());
+      }
+      return Result.success(verifier);
     } catch (final JOSEException e) {
       return Result.failure("Failed to create verifier");
     }
@@ -0,0 +1,199 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import lombok.Value;
+import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by the SHA-256 digest
+ * of the serialized token. Entries are kept until the token expiration minus the not before
+ * leeway. Expired entries are evicted in expiration order when new tokens are put, so a full cache
+ * costs no scan of all entries.
+ */
+public class VerifiedTokenCache {
+  private static final String SHA_256 = "SHA-256";
+  private static final String METRIC_REQUESTS = "edc.oauth2.token.cache.requests";
+  private static final String METRIC_HIT_RATIO = "edc.oauth2.token.cache.hit.ratio";
+  private static final String METRIC_SIZE = "edc.oauth2.token.cache.size";
+  private static final String TAG_RESULT = "result";
+
+  private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+  /** Cached tokens ordered by expiration, guarded by itself. */
+  private final Queue<CachedToken> expirations =
+      new PriorityQueue<>(
+          Comparator.comparing(cachedToken -> cachedToken.getVerifiedToken().getExpiresAt()));
+
+  @NonNull private final Clock clock;
+  @NonNull private final Duration notBeforeLeeway;
+  private final int maximumSize;
+
+  private final Counter hits;
+  private final Counter misses;
+
+  public VerifiedTokenCache(
+      @NonNull final Clock clock,
+      @NonNull final Duration notBeforeLeeway,
+      final int maximumSize,
+      @NonNull final MeterRegistry meterRegistry) {
+    this.clock = clock;
+    this.notBeforeLeeway = notBeforeLeeway;
+    this.maximumSize = maximumSize;
+
+    this.hits = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "hit").register(meterRegistry);
+    this.misses = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "miss").register(meterRegistry);
+    Gauge.builder(METRIC_HIT_RATIO, this, VerifiedTokenCache::hitRatio).register(meterRegistry);
+    Gauge.builder(METRIC_SIZE, tokens, Map::size).register(meterRegistry);
+  }
+
+  public @Nullable VerifiedToken get(@NonNull final String token) {
+    if (maximumSize <= 0) {
+      return null;
+    }
+
+    return getByDigest(digest(token));
+  }
+
+  /** Same as {@link #get(String)}, for a token already digested with {@link #digest(String)}. */
+  @Nullable
+  VerifiedToken getByDigest(@NonNull final String digest) {
+    if (maximumSize <= 0) {
+      return null;
+    }
+
+    final VerifiedToken verifiedToken = tokens.get(digest);
+    if (verifiedToken == null) {
+      misses.increment();
+      return null;
+    }
+
+    if (!clock.instant().isBefore(verifiedToken.getExpiresAt())) {
+      tokens.remove(digest, verifiedToken);
+      misses.increment();
+      return null;
+    }
+
+    hits.increment();
+    return verifiedToken;
+  }
+
+  public void put(
+      @NonNull final String token,
+      @NonNull final ClaimToken claimToken,
+      @NonNull final ClaimToken resultToken) {
+    if (maximumSize <= 0) {
+      return;
+    }
+
+    putByDigest(digest(token), claimToken, resultToken);
+  }
+
+  /** Same as {@link #put}, for a token already digested with {@link #digest(String)}. */
+  void putByDigest(
+      @NonNull final String digest,
+      @NonNull final ClaimToken claimToken,
+      @NonNull final ClaimToken resultToken) {
+    if (maximumSize <= 0) {
+      return;
+    }
+
+    final Object expirationTime = claimToken.getClaims().get(JWTClaimNames.EXPIRATION_TIME);
+    if (!(expirationTime instanceof Date)) {
+      return;
+    }
+
+    final Instant now = clock.instant();
+    final Instant expiresAt = ((Date) expirationTime).toInstant().minus(notBeforeLeeway);
+    if (!now.isBefore(expiresAt)) {
+      return;
+    }
+
+    final VerifiedToken verifiedToken = new VerifiedToken(claimToken, resultToken, expiresAt);
+    synchronized (expirations) {
+      evictExpired(now);
+      if (tokens.size() >= maximumSize) {
+        return;
+      }
+
+      if (tokens.putIfAbsent(digest, verifiedToken) == null) {
+        expirations.add(new CachedToken(digest, verifiedToken));
+      }
+    }
+  }
+
+  private void evictExpired(final Instant now) {
+    CachedToken cachedToken;
+    while ((cachedToken = expirations.peek()) != null
+        && !now.isBefore(cachedToken.getVerifiedToken().getExpiresAt())) {
+      expirations.poll();
+      // no-op if already removed by get
+      tokens.remove(cachedToken.getDigest(), cachedToken.getVerifiedToken());
+    }
+  }
+
+  private double hitRatio() {
+    final double requests = hits.count() + misses.count();
+    return requests == 0 ? 0 : hits.count() / requests;
+  }
+
+  /** Returns the Base64 encoded SHA-256 digest of the token. */
+  static String digest(@NonNull final String token) {
+    try {
+      final MessageDigest messageDigest = MessageDigest.getInstance(SHA_256);
+      final byte[] digest = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new EdcException(noSuchAlgorithmException);
+    }
+  }
+
+  @Value
+  public static class VerifiedToken {
+    /** Claims as parsed from the token, used as input for the validation rules. */
+    ClaimToken claimToken;
+
+    /** Claims converted to strings, returned to the caller of the validation service. */
+    ClaimToken resultToken;
+
+    Instant expiresAt;
+  }
+
+  @Value
+  private static class CachedToken {
+    String digest;
+    VerifiedToken verifiedToken;
+  }
+}
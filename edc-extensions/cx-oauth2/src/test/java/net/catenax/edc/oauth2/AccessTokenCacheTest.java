@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import net.catenax.edc.oauth2.AccessTokenCache.AccessToken;
+import org.eclipse.dataspaceconnector.spi.iam.TokenParameters;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AccessTokenCacheTest {
+  private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+  private static final Duration LEEWAY = Duration.ofSeconds(20);
+  private static final Duration EXPIRES_IN = Duration.ofSeconds(100);
+
+  private Clock clock;
+  private AtomicInteger loads;
+  private AccessTokenCache accessTokenCache;
+
+  @BeforeEach
+  void setUp() {
+    clock = Mockito.mock(Clock.class);
+    loads = new AtomicInteger();
+    accessTokenCache = new AccessTokenCache(clock, LEEWAY, Runnable::run);
+
+    Mockito.when(clock.instant()).thenReturn(NOW);
+  }
+
+  @Test
+  void testTokenReused() {
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        loader(EXPIRES_IN);
+
+    get("scope", loader);
+    final Result<AccessToken> result = get("scope", loader);
+
+    Assertions.assertTrue(result.succeeded());
+    Assertions.assertEquals("token-1", result.getContent().getToken());
+    Assertions.assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testTokenCachedPerScope() {
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        loader(EXPIRES_IN);
+
+    get("scope", loader);
+    get("other", loader);
+
+    Assertions.assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testTokenRefreshedAhead() {
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        loader(EXPIRES_IN);
+    get("scope", loader);
+
+    // refresh starts after three quarters of the 80 usable seconds
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+    final Result<AccessToken> result = get("scope", loader);
+
+    Assertions.assertEquals("token-1", result.getContent().getToken());
+    Assertions.assertEquals(2, loads.get());
+    Assertions.assertEquals("token-2", get("scope", loader).getContent().getToken());
+  }
+
+  @Test
+  void testTokenNotUsedWithinLeeway() {
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        loader(EXPIRES_IN);
+    accessTokenCache = new AccessTokenCache(clock, LEEWAY, runnable -> {});
+    get("scope", loader);
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(80));
+    final Result<AccessToken> result = get("scope", loader);
+
+    Assertions.assertEquals("token-2", result.getContent().getToken());
+  }
+
+  @Test
+  void testConcurrentLoadsShared() {
+    final CompletableFuture<Result<AccessToken>> response = new CompletableFuture<>();
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        parameters -> {
+          loads.incrementAndGet();
+          return response;
+        };
+
+    final CompletableFuture<Result<AccessToken>> first =
+        accessTokenCache.get(tokenParameters("scope"), loader);
+    final CompletableFuture<Result<AccessToken>> second =
+        accessTokenCache.get(tokenParameters("scope"), loader);
+    response.complete(Result.success(new AccessToken("token", EXPIRES_IN)));
+
+    Assertions.assertSame(first.join(), second.join());
+    Assertions.assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testFailureNotCached() {
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        parameters -> {
+          loads.incrementAndGet();
+          return CompletableFuture.completedFuture(Result.failure("denied"));
+        };
+
+    get("scope", loader);
+    final Result<AccessToken> result = get("scope", loader);
+
+    Assertions.assertTrue(result.failed());
+    Assertions.assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testFailedRefreshRetriedAfterDelay() {
+    final AtomicInteger refreshes = new AtomicInteger();
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader =
+        parameters ->
+            CompletableFuture.completedFuture(
+                refreshes.getAndIncrement() == 0
+                    ? Result.success(new AccessToken("token", EXPIRES_IN))
+                    : Result.failure("unavailable"));
+    get("scope", loader);
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+    Assertions.assertEquals("token", get("scope", loader).getContent().getToken());
+    Assertions.assertEquals(2, refreshes.get());
+
+    // retried after a quarter of the remaining 20 usable seconds only
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(64));
+    Assertions.assertEquals("token", get("scope", loader).getContent().getToken());
+    Assertions.assertEquals(2, refreshes.get());
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(65));
+    Assertions.assertEquals("token", get("scope", loader).getContent().getToken());
+    Assertions.assertEquals(3, refreshes.get());
+  }
+
+  @Test
+  void testTokenWithoutExpirationNotCached() {
+    final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader = loader(null);
+
+    get("scope", loader);
+    get("scope", loader);
+
+    Assertions.assertEquals(2, loads.get());
+  }
+
+  private Result<AccessToken> get(
+      final String scope,
+      final Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader) {
+    return accessTokenCache.get(tokenParameters(scope), loader).join();
+  }
+
+  private Function<TokenParameters, CompletableFuture<Result<AccessToken>>> loader(
+      final Duration expiresIn) {
+    return parameters ->
+        CompletableFuture.completedFuture(
+            Result.success(new AccessToken("token-" + loads.incrementAndGet(), expiresIn)));
+  }
+
+  private static TokenParameters tokenParameters(final String scope) {
+    return TokenParameters.Builder.newInstance().scope(scope).audience("audience").build();
+  }
+}
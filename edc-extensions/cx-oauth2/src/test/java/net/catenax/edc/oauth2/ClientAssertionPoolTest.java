@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.catenax.edc.oauth2.jwt.decorator.ExpJwtDecorator;
+import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecoratorRegistry;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenGenerationService;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ClientAssertionPoolTest {
+  private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+  private static final Duration MAXIMUM_AGE = Duration.ofSeconds(30);
+  private static final Duration EXPIRY_LEEWAY = Duration.ofSeconds(5);
+  private static final int SIZE = 3;
+
+  private Clock clock;
+  private AtomicInteger signed;
+  private List<Runnable> tasks;
+  private MeterRegistry meterRegistry;
+  private ClientAssertionPool clientAssertionPool;
+
+  // mocks
+  private TokenGenerationService tokenGenerationService;
+  private JwtDecoratorRegistry jwtDecoratorRegistry;
+
+  @BeforeEach
+  void setUp() {
+    clock = Mockito.mock(Clock.class);
+    signed = new AtomicInteger();
+    tasks = new ArrayList<>();
+    meterRegistry = new SimpleMeterRegistry();
+    tokenGenerationService = Mockito.mock(TokenGenerationService.class);
+    jwtDecoratorRegistry = Mockito.mock(JwtDecoratorRegistry.class);
+
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    Mockito.when(jwtDecoratorRegistry.getAll()).thenReturn(Collections.emptyList());
+    Mockito.when(tokenGenerationService.generate(Mockito.<JwtDecorator>any()))
+        .thenAnswer(
+            invocation ->
+                Result.success(
+                    TokenRepresentation.Builder.newInstance()
+                        .token("assertion-" + signed.incrementAndGet())
+                        .build()));
+
+    clientAssertionPool =
+        new ClientAssertionPool(
+            tokenGenerationService,
+            jwtDecoratorRegistry,
+            clock,
+            SIZE,
+            MAXIMUM_AGE,
+            EXPIRY_LEEWAY,
+            tasks::add,
+            meterRegistry);
+  }
+
+  @Test
+  void testSignedOnCallingThreadIfEmpty() {
+    Assertions.assertEquals("assertion-1", take());
+    Assertions.assertEquals(1, signed.get());
+    Assertions.assertEquals(1, tasks.size());
+    Assertions.assertEquals(1, takeCount("signed"));
+  }
+
+  @Test
+  void testPooledAssertionsTakenOnce() {
+    fill();
+
+    Assertions.assertEquals("assertion-1", take());
+    Assertions.assertEquals("assertion-2", take());
+    Assertions.assertEquals(SIZE, signed.get());
+    Assertions.assertEquals(2, takeCount("pooled"));
+  }
+
+  @Test
+  void testRefilledAfterTake() {
+    fill();
+    take();
+
+    runTasks();
+
+    Assertions.assertEquals(SIZE + 1, signed.get());
+  }
+
+  @Test
+  void testOutdatedAssertionsDiscarded() {
+    fill();
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(MAXIMUM_AGE));
+
+    Assertions.assertEquals("assertion-" + (SIZE + 1), take());
+    Assertions.assertEquals(1, takeCount("signed"));
+  }
+
+  @Test
+  void testOutdatedAssertionsReplacedByFill() {
+    fill();
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(MAXIMUM_AGE));
+
+    fill();
+
+    Assertions.assertEquals(2 * SIZE, signed.get());
+    Assertions.assertEquals("assertion-" + (SIZE + 1), take());
+  }
+
+  @Test
+  void testAssertionsDiscardedWithinLeewayOfExpiration() {
+    expiringAfter(Duration.ofSeconds(20));
+    fill();
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(15));
+
+    Assertions.assertEquals("assertion-" + (SIZE + 1), take());
+    Assertions.assertEquals(1, takeCount("signed"));
+  }
+
+  @Test
+  void testAssertionsUsedUntilLeewayOfExpiration() {
+    expiringAfter(Duration.ofSeconds(20));
+    fill();
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(14));
+
+    Assertions.assertEquals("assertion-1", take());
+    Assertions.assertEquals(1, takeCount("pooled"));
+  }
+
+  @Test
+  void testAssertionsExpiringWithinLeewayNotPooled() {
+    expiringAfter(Duration.ofSeconds(3));
+
+    fill();
+
+    Assertions.assertEquals(1, signed.get());
+    Assertions.assertEquals("assertion-2", take());
+    Assertions.assertEquals(1, takeCount("signed"));
+  }
+
+  @Test
+  void testOneFillInFlight() {
+    clientAssertionPool.fill();
+    clientAssertionPool.fill();
+
+    Assertions.assertEquals(1, tasks.size());
+  }
+
+  @Test
+  void testSigningFailureReportedToCaller() {
+    Mockito.when(tokenGenerationService.generate(Mockito.<JwtDecorator>any()))
+        .thenReturn(Result.failure("signing failed"));
+
+    fill();
+    final Result<TokenRepresentation> result = clientAssertionPool.take();
+
+    Assertions.assertTrue(result.failed());
+  }
+
+  private void expiringAfter(final Duration expiration) {
+    Mockito.when(jwtDecoratorRegistry.getAll())
+        .thenReturn(List.of(new ExpJwtDecorator(clock, expiration)));
+  }
+
+  private String take() {
+    return clientAssertionPool.take().getContent().getToken();
+  }
+
+  private void fill() {
+    clientAssertionPool.fill();
+    runTasks();
+  }
+
+  private void runTasks() {
+    final List<Runnable> pending = new ArrayList<>(tasks);
+    tasks.clear();
+    pending.forEach(Runnable::run);
+  }
+
+  private double takeCount(final String outcome) {
+    return meterRegistry
+        .get("edc.oauth2.assertion.pool.take")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.iam.TokenParameters;
+import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecoratorRegistry;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenGenerationService;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationService;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class OAuth2IdentityServiceTest {
+  private static final URI TOKEN_URL = URI.create("http://localhost/token");
+  private static final String TOKEN_RESPONSE = "{\"access_token\":\"token\",\"expires_in\":3600}";
+
+  private OkHttpClient httpClient;
+  private Call call;
+  private AtomicReference<Callback> callback;
+  private MeterRegistry meterRegistry;
+  private OAuth2IdentityService identityService;
+
+  @BeforeEach
+  void setUp() {
+    httpClient = Mockito.mock(OkHttpClient.class);
+    call = Mockito.mock(Call.class);
+    callback = new AtomicReference<>();
+    meterRegistry = new SimpleMeterRegistry();
+
+    final JwtDecoratorRegistry jwtDecoratorRegistry = Mockito.mock(JwtDecoratorRegistry.class);
+    final TokenGenerationService tokenGenerationService =
+        Mockito.mock(TokenGenerationService.class);
+    final Clock clock = Mockito.mock(Clock.class);
+
+    Mockito.when(httpClient.newCall(Mockito.any(Request.class))).thenReturn(call);
+    Mockito.doAnswer(
+            invocation -> {
+              callback.set(invocation.getArgument(0));
+              return null;
+            })
+        .when(call)
+        .enqueue(Mockito.any(Callback.class));
+    Mockito.when(jwtDecoratorRegistry.getAll()).thenReturn(Collections.emptyList());
+    Mockito.when(tokenGenerationService.generate(Mockito.any(JwtDecorator[].class)))
+        .thenReturn(
+            Result.success(TokenRepresentation.Builder.newInstance().token("assertion").build()));
+    Mockito.when(clock.instant()).thenReturn(Instant.parse("2022-10-01T10:00:00Z"));
+
+    identityService =
+        new OAuth2IdentityService(
+            TOKEN_URL,
+            httpClient,
+            new TypeManager(),
+            jwtDecoratorRegistry,
+            tokenGenerationService,
+            Mockito.mock(TokenValidationService.class),
+            new AccessTokenCache(clock, Duration.ofSeconds(30), Runnable::run),
+            null,
+            meterRegistry);
+  }
+
+  @Test
+  void testAsyncCompletesOnResponse() throws IOException {
+    final CompletableFuture<Result<TokenRepresentation>> future =
+        identityService.obtainClientCredentialsAsync(tokenParameters());
+
+    Assertions.assertFalse(future.isDone());
+
+    callback.get().onResponse(call, response(200, TOKEN_RESPONSE));
+
+    Assertions.assertEquals("token", future.join().getContent().getToken());
+  }
+
+  @Test
+  void testAsyncFailsOnErrorResponse() throws IOException {
+    final CompletableFuture<Result<TokenRepresentation>> future =
+        identityService.obtainClientCredentialsAsync(tokenParameters());
+
+    callback.get().onResponse(call, response(401, "unauthorized"));
+
+    Assertions.assertTrue(future.join().failed());
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get("edc.oauth2.daps.token.request")
+            .tags("status", "401", "outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void testAsyncCompletesExceptionallyOnIoFailure() {
+    final CompletableFuture<Result<TokenRepresentation>> future =
+        identityService.obtainClientCredentialsAsync(tokenParameters());
+
+    callback.get().onFailure(call, new IOException("connection refused"));
+
+    Assertions.assertTrue(future.isCompletedExceptionally());
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get("edc.oauth2.daps.token.request")
+            .tags("status", "none", "outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void testSyncThrowsEdcExceptionOnIoFailure() {
+    Mockito.doAnswer(
+            invocation -> {
+              final Callback callback = invocation.getArgument(0);
+              callback.onFailure(call, new IOException("connection refused"));
+              return null;
+            })
+        .when(call)
+        .enqueue(Mockito.any(Callback.class));
+
+    Assertions.assertThrows(
+        EdcException.class, () -> identityService.obtainClientCredentials(tokenParameters()));
+  }
+
+  private static TokenParameters tokenParameters() {
+    return TokenParameters.Builder.newInstance().scope("scope").audience("audience").build();
+  }
+
+  private static Response response(final int code, final String body) {
+    return new Response.Builder()
+        .request(new Request.Builder().url(TOKEN_URL.toString()).build())
+        .protocol(Protocol.HTTP_1_1)
+        .code(code)
+        .message("")
+        .body(ResponseBody.create(body, MediaType.get("application/json")))
+        .build();
+  }
+}
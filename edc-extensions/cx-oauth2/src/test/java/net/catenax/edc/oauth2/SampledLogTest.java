@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SampledLogTest {
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  // mocks
+  private Monitor monitor;
+
+  @BeforeEach
+  void setUp() {
+    monitor = Mockito.mock(Monitor.class);
+  }
+
+  @Test
+  void testEverySampleWritten() {
+    final SampledLog sampledLog = new SampledLog(monitor, 3, Duration.ZERO, nanoTime::get);
+
+    for (int i = 0; i < 7; i++) {
+      sampledLog.info(() -> "event");
+    }
+
+    Assertions.assertEquals(7, sampledLog.getCount());
+    Mockito.verify(monitor).info("event (occurrence 1)");
+    Mockito.verify(monitor).info("event (occurrence 4, 2 suppressed)");
+    Mockito.verify(monitor).info("event (occurrence 7, 2 suppressed)");
+    Mockito.verifyNoMoreInteractions(monitor);
+  }
+
+  @Test
+  void testAtMostOnePerInterval() {
+    final SampledLog sampledLog =
+        new SampledLog(monitor, 1, Duration.ofSeconds(10), nanoTime::get);
+
+    sampledLog.info(() -> "event");
+    nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+    sampledLog.info(() -> "event");
+    nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+    sampledLog.info(() -> "event");
+
+    Assertions.assertEquals(3, sampledLog.getCount());
+    Mockito.verify(monitor).info("event (occurrence 1)");
+    Mockito.verify(monitor).info("event (occurrence 3, 1 suppressed)");
+    Mockito.verifyNoMoreInteractions(monitor);
+  }
+
+  @Test
+  void testRateLimitedOnly() {
+    final SampledLog sampledLog =
+        new SampledLog(monitor, 1, Duration.ofSeconds(10), nanoTime::get);
+
+    for (int i = 0; i < 5; i++) {
+      sampledLog.severe(() -> "failure");
+    }
+    nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+    sampledLog.severe(() -> "failure");
+
+    Assertions.assertEquals(6, sampledLog.getCount());
+    Mockito.verify(monitor).severe("failure (occurrence 1)");
+    Mockito.verify(monitor).severe("failure (occurrence 6, 4 suppressed)");
+    Mockito.verifyNoMoreInteractions(monitor);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testMessageNotBuiltIfNotWritten() {
+    final SampledLog sampledLog = new SampledLog(monitor, 2, Duration.ZERO, nanoTime::get);
+    final Supplier<String> message = Mockito.mock(Supplier.class);
+    Mockito.when(message.get()).thenReturn("event");
+
+    sampledLog.info(message);
+    sampledLog.info(message);
+
+    Mockito.verify(message, Mockito.times(1)).get();
+  }
+
+  @Test
+  void testErrorsPassedToMonitor() {
+    final SampledLog sampledLog = new SampledLog(monitor, 1, Duration.ZERO, nanoTime::get);
+    final Exception exception = new IllegalStateException();
+
+    sampledLog.severe(() -> "failure", exception);
+
+    Mockito.verify(monitor).severe("failure (occurrence 1)", exception);
+  }
+
+  @Test
+  void testInvalidSampleRate() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> new SampledLog(monitor, 0, Duration.ZERO, nanoTime::get));
+  }
+}
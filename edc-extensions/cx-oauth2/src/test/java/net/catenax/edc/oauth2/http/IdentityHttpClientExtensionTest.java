@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.eclipse.dataspaceconnector.spi.system.configuration.ConfigFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class IdentityHttpClientExtensionTest {
+
+  private IdentityHttpClientExtension extension;
+  private MeterRegistry meterRegistry;
+  private OkHttpClient sharedOkHttpClient;
+
+  // mocks
+  private ServiceExtensionContext context;
+  private Interceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    extension = new IdentityHttpClientExtension();
+    meterRegistry = new SimpleMeterRegistry();
+    context = Mockito.mock(ServiceExtensionContext.class);
+    interceptor = Mockito.mock(Interceptor.class);
+
+    sharedOkHttpClient =
+        new OkHttpClient.Builder().addInterceptor(interceptor).proxy(Proxy.NO_PROXY).build();
+    extension.setOkHttpClient(sharedOkHttpClient);
+
+    Mockito.when(context.getConfig())
+        .thenReturn(
+            ConfigFactory.fromMap(
+                Map.of(
+                    IdentityHttpClientExtension.CALL_TIMEOUT,
+                    "7",
+                    IdentityHttpClientExtension.WRITE_TIMEOUT,
+                    "3")));
+    Mockito.when(context.getSetting(Mockito.anyString(), Mockito.anyInt()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    Mockito.when(context.getSetting(Mockito.anyString(), Mockito.anyBoolean()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    Mockito.when(context.getSetting(IdentityHttpClientExtension.MAX_REQUESTS_PER_HOST, 32))
+        .thenReturn(4);
+  }
+
+  @Test
+  void testClientConfiguredFromSettings() {
+    final OkHttpClient okHttpClient = extension.okHttpClient(context, meterRegistry);
+
+    Assertions.assertEquals(4, okHttpClient.dispatcher().getMaxRequestsPerHost());
+    Assertions.assertEquals(
+        IdentityHttpClientExtension.DEFAULT_MAX_REQUESTS,
+        okHttpClient.dispatcher().getMaxRequests());
+    Assertions.assertEquals(7000, okHttpClient.callTimeoutMillis());
+    Assertions.assertEquals(
+        IdentityHttpClientExtension.DEFAULT_CONNECT_TIMEOUT.toMillis(),
+        okHttpClient.connectTimeoutMillis());
+    Assertions.assertEquals(
+        IdentityHttpClientExtension.DEFAULT_READ_TIMEOUT.toMillis(),
+        okHttpClient.readTimeoutMillis());
+    Assertions.assertEquals(3000, okHttpClient.writeTimeoutMillis());
+    Assertions.assertEquals(
+        List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), okHttpClient.protocols());
+  }
+
+  @Test
+  void testSharedClientSettingsKept() {
+    final OkHttpClient okHttpClient = extension.okHttpClient(context, meterRegistry);
+
+    Assertions.assertEquals(List.of(interceptor), okHttpClient.interceptors());
+    Assertions.assertEquals(Proxy.NO_PROXY, okHttpClient.proxy());
+    Assertions.assertSame(sharedOkHttpClient.sslSocketFactory(), okHttpClient.sslSocketFactory());
+    Assertions.assertNotSame(sharedOkHttpClient.connectionPool(), okHttpClient.connectionPool());
+    Assertions.assertNotSame(sharedOkHttpClient.dispatcher(), okHttpClient.dispatcher());
+  }
+
+  @Test
+  void testHttp2Disabled() {
+    Mockito.when(context.getSetting(IdentityHttpClientExtension.HTTP2, true)).thenReturn(false);
+
+    final OkHttpClient okHttpClient = extension.okHttpClient(context, meterRegistry);
+
+    Assertions.assertEquals(List.of(Protocol.HTTP_1_1), okHttpClient.protocols());
+  }
+
+  @Test
+  void testPoolMetricsRegistered() {
+    extension.okHttpClient(context, meterRegistry);
+
+    // one gauge each for active and idle connections
+    Assertions.assertEquals(
+        2, meterRegistry.get("edc.oauth2.http.pool.connection.count").gauges().size());
+    Assertions.assertEquals(
+        IdentityHttpClientExtension.DEFAULT_POOL_MAX_IDLE,
+        meterRegistry.get("edc.oauth2.http.pool.connection.limit").gauge().value());
+    Assertions.assertEquals(0, meterRegistry.get("edc.oauth2.http.calls.running").gauge().value());
+    Assertions.assertEquals(0, meterRegistry.get("edc.oauth2.http.calls.queued").gauge().value());
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CompositeJwkPublicKeyResolverTest {
+  private static final String FIRST_KEY_ID = "first";
+  private static final String SECOND_KEY_ID = "second";
+
+  private JwkPublicKeyResolver firstResolver;
+  private JwkPublicKeyResolver secondResolver;
+  private PublicKey firstKey;
+  private PublicKey secondKey;
+  private CompositeJwkPublicKeyResolver compositeResolver;
+
+  @BeforeEach
+  void setUp() {
+    firstResolver = Mockito.mock(JwkPublicKeyResolver.class);
+    secondResolver = Mockito.mock(JwkPublicKeyResolver.class);
+    firstKey = Mockito.mock(PublicKey.class);
+    secondKey = Mockito.mock(PublicKey.class);
+
+    Mockito.when(firstResolver.getKeys()).thenReturn(Map.of(FIRST_KEY_ID, firstKey));
+    Mockito.when(firstResolver.resolveKey(FIRST_KEY_ID)).thenReturn(firstKey);
+    Mockito.when(secondResolver.getKeys()).thenReturn(Map.of(SECOND_KEY_ID, secondKey));
+    Mockito.when(secondResolver.resolveKey(SECOND_KEY_ID)).thenReturn(secondKey);
+    Mockito.when(firstResolver.resolveKeyAsync(Mockito.anyString(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    Mockito.when(secondResolver.resolveKeyAsync(Mockito.anyString(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    compositeResolver = new CompositeJwkPublicKeyResolver(List.of(firstResolver, secondResolver));
+  }
+
+  @AfterEach
+  void tearDown() {
+    compositeResolver.stop();
+  }
+
+  @Test
+  void testKeyResolvedFromOwningKeySet() {
+    Assertions.assertSame(secondKey, compositeResolver.resolveKey(SECOND_KEY_ID));
+    Mockito.verify(firstResolver, Mockito.never()).resolveKey(SECOND_KEY_ID);
+  }
+
+  @Test
+  void testFirstKeySetTakesPrecedence() {
+    Mockito.when(secondResolver.getKeys())
+        .thenReturn(Map.of(FIRST_KEY_ID, secondKey, SECOND_KEY_ID, secondKey));
+
+    Assertions.assertSame(firstKey, compositeResolver.resolveKey(FIRST_KEY_ID));
+  }
+
+  @Test
+  void testIndexRebuiltAfterRefresh() {
+    final PublicKey rotatedKey = Mockito.mock(PublicKey.class);
+    Mockito.when(secondResolver.getKeys()).thenReturn(Map.of("rotated", rotatedKey));
+    Mockito.when(secondResolver.resolveKey("rotated")).thenReturn(rotatedKey);
+
+    Assertions.assertSame(rotatedKey, compositeResolver.resolveKey("rotated"));
+    Mockito.verify(firstResolver, Mockito.never()).resolveKey("rotated");
+  }
+
+  @Test
+  void testUnknownKeyIdQueriesAllKeySets() {
+    Assertions.assertNull(compositeResolver.resolveKey("unknown"));
+
+    Mockito.verify(firstResolver).resolveKeyAsync(Mockito.eq("unknown"), Mockito.any());
+    Mockito.verify(secondResolver).resolveKeyAsync(Mockito.eq("unknown"), Mockito.any());
+  }
+
+  @Test
+  void testStalledKeySetDoesNotDelayNewKeyOfOtherKeySet() {
+    final CountDownLatch release = new CountDownLatch(1);
+    final Map<String, PublicKey> fetchedKeys = new ConcurrentHashMap<>();
+    compositeResolver =
+        new CompositeJwkPublicKeyResolver(
+            List.of(stalledResolver(release), new StaticJwkPublicKeyResolver(fetchedKeys)),
+            Duration.ofSeconds(10));
+    fetchedKeys.put("rotated", secondKey);
+
+    try {
+      final long start = System.nanoTime();
+      Assertions.assertSame(secondKey, compositeResolver.resolveKey("rotated"));
+      final Duration latency = Duration.ofNanos(System.nanoTime() - start);
+
+      Assertions.assertTrue(latency.compareTo(Duration.ofSeconds(1)) < 0, "latency " + latency);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void testUnknownKeyIdWaitsAtMostOnDemandTimeout() {
+    final CountDownLatch release = new CountDownLatch(1);
+    compositeResolver =
+        new CompositeJwkPublicKeyResolver(
+            List.of(stalledResolver(release), new StaticJwkPublicKeyResolver(Map.of())),
+            Duration.ofMillis(100));
+
+    try {
+      final long start = System.nanoTime();
+      Assertions.assertNull(compositeResolver.resolveKey("unknown"));
+      final Duration latency = Duration.ofNanos(System.nanoTime() - start);
+
+      Assertions.assertTrue(latency.compareTo(Duration.ofSeconds(1)) < 0, "latency " + latency);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void testSlowKeySetNotWaitedForAgainWhileInFlight() {
+    final CountDownLatch release = new CountDownLatch(1);
+    compositeResolver =
+        new CompositeJwkPublicKeyResolver(
+            List.of(stalledResolver(release), new StaticJwkPublicKeyResolver(Map.of())),
+            Duration.ofSeconds(1));
+
+    try {
+      Assertions.assertNull(compositeResolver.resolveKey("unknown"));
+
+      final long start = System.nanoTime();
+      Assertions.assertNull(compositeResolver.resolveKey("other-unknown"));
+      final Duration latency = Duration.ofNanos(System.nanoTime() - start);
+
+      Assertions.assertTrue(latency.compareTo(Duration.ofMillis(500)) < 0, "latency " + latency);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  /** Resolver whose identity provider does not respond until released. */
+  private static JwkPublicKeyResolver stalledResolver(final CountDownLatch release) {
+    return new StaticJwkPublicKeyResolver(Map.of()) {
+      @Override
+      protected Result<Map<String, PublicKey>> fetchKeys() {
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException interruptedException) {
+          Thread.currentThread().interrupt();
+        }
+        return Result.failure("identity provider stalled");
+      }
+    };
+  }
+
+  @Test
+  void testStartSucceedsIfOneKeySetSynchronized() {
+    Mockito.when(firstResolver.getKeys()).thenReturn(Map.of());
+
+    compositeResolver.start();
+
+    Mockito.verify(firstResolver).start(false);
+    Mockito.verify(secondResolver).start(false);
+  }
+
+  @Test
+  void testStartFailsIfNoKeySetSynchronized() {
+    Mockito.when(firstResolver.getKeys()).thenReturn(Map.of());
+    Mockito.when(secondResolver.getKeys()).thenReturn(Map.of());
+
+    Assertions.assertThrows(EdcException.class, () -> compositeResolver.start());
+  }
+}
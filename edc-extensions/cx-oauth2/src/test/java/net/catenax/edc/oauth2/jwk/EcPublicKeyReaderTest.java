@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class EcPublicKeyReaderTest {
+  private static final String KEY_ID = "ec-key";
+
+  private EcPublicKeyReader publicKeyReader;
+
+  // mocks
+  private Monitor monitor;
+
+  @BeforeEach
+  void setUp() {
+    monitor = Mockito.mock(Monitor.class);
+    publicKeyReader = new EcPublicKeyReader(monitor);
+  }
+
+  @Test
+  void testCanRead() {
+    Assertions.assertTrue(publicKeyReader.canRead(jsonWebKey(Curve.P_256)));
+    Assertions.assertTrue(publicKeyReader.canRead(jsonWebKey(Curve.P_384)));
+  }
+
+  @Test
+  void testCanNotReadUnsupportedCurve() {
+    Assertions.assertFalse(publicKeyReader.canRead(jsonWebKey(Curve.P_521)));
+  }
+
+  @Test
+  void testReadSuccess() {
+    final Optional<PublicKeyHolder> key = publicKeyReader.read(jsonWebKey(Curve.P_384));
+
+    Assertions.assertTrue(key.isPresent());
+    Assertions.assertEquals(KEY_ID, key.get().getKeyId());
+    Assertions.assertTrue(key.get().getPublicKey() instanceof ECPublicKey);
+  }
+
+  @Test
+  void testReadPointNotOnCurve() {
+    final JsonWebKey jsonWebKey = jsonWebKey(Curve.P_256);
+    jsonWebKey.setYy(jsonWebKey.getXx());
+
+    Assertions.assertTrue(publicKeyReader.read(jsonWebKey).isEmpty());
+  }
+
+  @SneakyThrows
+  private static JsonWebKey jsonWebKey(final Curve curve) {
+    final ECKey ecKey = new ECKeyGenerator(curve).keyID(KEY_ID).generate().toPublicJWK();
+
+    return new ObjectMapper().readValue(ecKey.toJSONString(), JsonWebKey.class);
+  }
+}
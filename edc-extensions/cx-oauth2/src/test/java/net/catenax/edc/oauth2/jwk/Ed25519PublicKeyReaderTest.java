@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class Ed25519PublicKeyReaderTest {
+  private static final String KEY_ID = "ed25519-key";
+
+  private Ed25519PublicKeyReader publicKeyReader;
+
+  // mocks
+  private Monitor monitor;
+
+  @BeforeEach
+  void setUp() {
+    monitor = Mockito.mock(Monitor.class);
+    publicKeyReader = new Ed25519PublicKeyReader(monitor);
+  }
+
+  @Test
+  void testCanRead() {
+    Assertions.assertTrue(publicKeyReader.canRead(jsonWebKey()));
+  }
+
+  @Test
+  void testCanNotReadOtherCurve() {
+    final JsonWebKey jsonWebKey = jsonWebKey();
+    jsonWebKey.setCrv(Curve.X25519.getName());
+
+    Assertions.assertFalse(publicKeyReader.canRead(jsonWebKey));
+  }
+
+  @Test
+  void testReadSuccess() {
+    final Optional<PublicKeyHolder> key = publicKeyReader.read(jsonWebKey());
+
+    Assertions.assertTrue(key.isPresent());
+    Assertions.assertEquals(KEY_ID, key.get().getKeyId());
+    Assertions.assertEquals("Ed25519", key.get().getPublicKey().getAlgorithm());
+    Assertions.assertEquals(44, key.get().getPublicKey().getEncoded().length);
+  }
+
+  @Test
+  void testReadInvalidKeyLength() {
+    final JsonWebKey jsonWebKey = jsonWebKey();
+    jsonWebKey.setXx("AQAB");
+
+    Assertions.assertTrue(publicKeyReader.read(jsonWebKey).isEmpty());
+  }
+
+  @SneakyThrows
+  private static JsonWebKey jsonWebKey() {
+    final OctetKeyPair octetKeyPair =
+        new OctetKeyPairGenerator(Curve.Ed25519).keyID(KEY_ID).generate().toPublicJWK();
+
+    return new ObjectMapper().readValue(octetKeyPair.toJSONString(), JsonWebKey.class);
+  }
+}
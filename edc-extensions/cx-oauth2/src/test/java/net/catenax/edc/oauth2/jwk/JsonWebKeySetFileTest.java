@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JsonWebKeySetFileTest {
+  private static final URI JWKS_URI = URI.create("https://localhost/.well-known/jwks.json");
+  private static final TypeManager TYPE_MANAGER = new TypeManager();
+
+  @TempDir Path directory;
+
+  @Test
+  void testEmptyIfNotWritten() throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+
+    Assertions.assertTrue(jsonWebKeySetFile.read().isEmpty());
+  }
+
+  @Test
+  void testWrittenKeySetRead() throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+    final JsonWebKeySet jsonWebKeySet = jsonWebKeySet("first");
+
+    jsonWebKeySetFile.write(jsonWebKeySet);
+
+    Assertions.assertEquals(jsonWebKeySet, jsonWebKeySetFile.read().orElseThrow());
+  }
+
+  @Test
+  void testKeySetReplacedWithoutTemporaryFilesLeft() throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+
+    jsonWebKeySetFile.write(jsonWebKeySet("first"));
+    jsonWebKeySetFile.write(jsonWebKeySet("second"));
+
+    Assertions.assertEquals(jsonWebKeySet("second"), jsonWebKeySetFile.read().orElseThrow());
+    try (final Stream<Path> files = Files.list(directory)) {
+      Assertions.assertEquals(
+          List.of(jsonWebKeySetFile.getPath()), files.collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void testDirectoryCreated() throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory.resolve("jwks"), JWKS_URI, TYPE_MANAGER);
+
+    jsonWebKeySetFile.write(jsonWebKeySet("first"));
+
+    Assertions.assertTrue(Files.isRegularFile(jsonWebKeySetFile.getPath()));
+  }
+
+  @Test
+  void testOneFilePerKeySetUri() {
+    final Path first = JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER).getPath();
+    final Path second =
+        JsonWebKeySetFile.of(directory, URI.create("https://other/jwks.json"), TYPE_MANAGER)
+            .getPath();
+
+    Assertions.assertEquals(
+        first, JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER).getPath());
+    Assertions.assertNotEquals(first, second);
+  }
+
+  private static JsonWebKeySet jsonWebKeySet(final String keyId) {
+    final JsonWebKey jsonWebKey = new JsonWebKey();
+    jsonWebKey.setKty("RSA");
+    jsonWebKey.setKid(keyId);
+    jsonWebKey.setEe("AQAB");
+    jsonWebKey.setNn("lzRszUeQ4WiSqvmYxMP10ngm8ALIoUwMH7Oa8vrZgD5pqalPjetPAxeVcAv2gTyDlOw");
+
+    final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet();
+    jsonWebKeySet.setKeys(List.of(jsonWebKey));
+    return jsonWebKeySet;
+  }
+}
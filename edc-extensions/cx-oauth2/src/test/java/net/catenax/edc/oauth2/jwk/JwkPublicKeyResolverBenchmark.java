@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares key lookups of the snapshot based {@link JwkPublicKeyResolver} with the former
+ * monitor-guarded map while 64 validator threads resolve keys and one thread refreshes the key set.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main JwkPublicKeyResolverBenchmark} on the test classpath.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwkPublicKeyResolverBenchmark {
+  private static final int KEY_COUNT = 8;
+  private static final String KEY_ID_PREFIX = "kid-";
+
+  private String[] keyIds;
+  private Map<String, PublicKey> fetchedKeys;
+  private StaticJwkPublicKeyResolver snapshotResolver;
+  private LockingResolver lockingResolver;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    keyIds = new String[KEY_COUNT];
+    final Map<String, PublicKey> keys = new HashMap<>();
+    for (int i = 0; i < KEY_COUNT; i++) {
+      keyIds[i] = KEY_ID_PREFIX + i;
+      keys.put(keyIds[i], Mockito.mock(PublicKey.class));
+    }
+    fetchedKeys = Collections.unmodifiableMap(keys);
+
+    snapshotResolver = new StaticJwkPublicKeyResolver(fetchedKeys);
+    snapshotResolver.synchronizeKeys();
+
+    lockingResolver = new LockingResolver();
+    lockingResolver.synchronizeKeys(fetchedKeys);
+  }
+
+  @Benchmark
+  @Group("snapshot")
+  @GroupThreads(64)
+  public PublicKey snapshotResolve() {
+    return snapshotResolver.resolveKey(randomKeyId());
+  }
+
+  @Benchmark
+  @Group("snapshot")
+  @GroupThreads(1)
+  public Result<Map<String, PublicKey>> snapshotRefresh() {
+    return snapshotResolver.synchronizeKeys();
+  }
+
+  @Benchmark
+  @Group("locking")
+  @GroupThreads(64)
+  public PublicKey lockingResolve() {
+    return lockingResolver.resolveKey(randomKeyId());
+  }
+
+  @Benchmark
+  @Group("locking")
+  @GroupThreads(1)
+  public void lockingRefresh() {
+    lockingResolver.synchronizeKeys(fetchedKeys);
+  }
+
+  private String randomKeyId() {
+    return keyIds[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+  }
+
+  /** The previous implementation: one monitor shared by lookups and refreshes. */
+  private static class LockingResolver {
+    private final Object synchronizationMonitor = new Object();
+    private final Map<String, PublicKey> keys = new HashMap<>();
+
+    PublicKey resolveKey(final String keyId) {
+      synchronized (synchronizationMonitor) {
+        return keys.get(keyId);
+      }
+    }
+
+    void synchronizeKeys(final Map<String, PublicKey> fetchedKeys) {
+      synchronized (synchronizationMonitor) {
+        keys.clear();
+        keys.putAll(fetchedKeys);
+      }
+    }
+  }
+}
@@ -17,12 +17,26 @@ package net.catenax.edc.oauth2.jwk;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Optional;
 import okhttp3.Call;
+import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -32,9 +46,12 @@ import okhttp3.ResponseBody;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 class JwkPublicKeyResolverTest {
@@ -42,6 +59,7 @@ class JwkPublicKeyResolverTest {
   private static final String JWKS_KEY_ID = "e600c72b-125a-4b30-86a5-9697af62f2a1";
   private static final String JWKS_PUBLIC_KEY =
       "MIICujCCAaKgAwIBAgIECI8fsTANBgkqhkiG9w0BAQsFADAfMR0wGwYDVQQDExR0ZXN0LWFsZXgucmVhY2g1Lm5ldDAeFw0yMDA3MjkwOTM0MjlaFw0yMjAyMTcxNDIwMzNaMB8xHTAbBgNVBAMTFHRlc3QtYWxleC5yZWFjaDUubmV0MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAlzRszUeQ4WiSqvmYxMP10ngm8ALIoUwMH7Oa8vrZgD5pqalPjetPAxeVcAv2gTyDlOwtB0fGvlQo6n78pd9pTbgrzUjhmFuYN6OCfT6eN/2wu0LmwryFS2mbh7/1DTiKd2tZaRalskPECXTKkeks85HVqanB0860BYlGvQvfgrvhCWXXFJJeXvNwYNFYdDdrFQhoeOAEvRDKg9DdHZf6XzSR6Qk3w51FKn2b7imen/G52itD/kIen1hqqB2Jwt9SWyX5MSGySY2QwC18F6Dfs8L+t0mwCo6grGW9264Z5vlO0PWssEqGIX/ez6nk1ZdHXhoXwJ0W+6QzeQlUN8jNoQIDAQABMA0GCSqGSIb3DQEBCwUAA4IBAQAETbMWro4HI4ZuqtnjMZrgEOpx6WhAtxpMx5XFPVWbdp/DpPySotoWbbD6qCtYc34E+ec7mH7aHVap+Gl2IyeSHTht4FXfF9q/1Oj/fis/4DDi1iq00rJsU18D71mZ9FGWCWlO1nhW1KSTGbRJ3E0wSrNabcvaXcwEHokR3zm+xfRWjtbrq2hQ19R16xyOLVy4zrF95QxP4UN+Cvm8nmYur6bSqv+gCMvDsl+O/gtRHGgpUukHEJwnee1R3+1aIv+9zOF3HaaUC5neOLBFITGmeXgi8G2IhbG+JoXh/GUkb66TZUlUAM3qXYNL9Nf+2MQ7nAPTXcxlmImFUUrnv0c3";
+  private static final String JWKS_X5T = "NjU3NDI5ZTZhODU0YjQzMGFiYzkwNGNkZDkwNmZkMzZmOWEzNWVmMQ";
   private static final String JWKS =
       String.format(
           "{"
@@ -49,7 +67,7 @@ class JwkPublicKeyResolverTest {
               + "       {"
               + "           \"kty\": \"RSA\","
               + "           \"e\": \"AQAB\","
-              + "           \"x5t\": \"NjU3NDI5ZTZhODU0YjQzMGFiYzkwNGNkZDkwNmZkMzZmOWEzNWVmMQ\","
+              + "           \"x5t\": \"%s\","
               + "           \"use\": \"sig\","
               + "           \"kid\": \"%s\","
               + "           \"x5c\": ["
@@ -60,23 +78,38 @@ class JwkPublicKeyResolverTest {
               + "       }"
               + "   ]"
               + "}",
-          JWKS_KEY_ID, JWKS_PUBLIC_KEY);
+          JWKS_X5T, JWKS_KEY_ID, JWKS_PUBLIC_KEY);
 
   private static final URI JWKS_URI = URI.create("https://localhost/.well-known/jwks.json");
   private static final Duration INTERVAL = Duration.ofSeconds(1);
+  private static final Duration ON_DEMAND_INTERVAL = Duration.ofSeconds(30);
+  private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+  private static final String ETAG = "ETag";
+  private static final String LAST_MODIFIED = "Last-Modified";
+  private static final TypeManager TYPE_MANAGER = new TypeManager();
 
   private JwkPublicKeyResolver jwkPublicKeyResolver;
+  private MeterRegistry meterRegistry;
+  private String jwks;
 
   // mocks
   private OkHttpClient httpClient;
   private Monitor monitor;
   private PublicKeyReader publicKeyReader;
+  private Clock clock;
+  private PublicKey rsaPublicKey;
 
   @BeforeEach
-  void setUp() {
+  void setUp() throws NoSuchAlgorithmException {
     httpClient = mock(OkHttpClient.class);
     monitor = mock(Monitor.class);
     publicKeyReader = mock(PublicKeyReader.class);
+    clock = mock(Clock.class);
+    rsaPublicKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+    meterRegistry = new SimpleMeterRegistry();
+    jwks = JWKS;
+
+    Mockito.when(clock.instant()).thenReturn(NOW);
 
     Mockito.when(publicKeyReader.canRead(any(JsonWebKey.class))).thenReturn(true);
     Mockito.when(publicKeyReader.read(any(JsonWebKey.class)))
@@ -86,10 +119,7 @@ class JwkPublicKeyResolverTest {
 
               if (jsonWebKey.getKid().equals(JWKS_KEY_ID)) {
                 final PublicKeyHolder publicKeyHolder =
-                    PublicKeyHolder.builder()
-                        .keyId(JWKS_KEY_ID)
-                        .publicKey(Mockito.mock(PublicKey.class))
-                        .build();
+                    PublicKeyHolder.builder().keyId(JWKS_KEY_ID).publicKey(rsaPublicKey).build();
                 return Optional.of(publicKeyHolder);
               } else {
                 return Optional.empty();
@@ -103,7 +133,7 @@ class JwkPublicKeyResolverTest {
               final Request request = i.getArgument(0);
               if (request.url().toString().equals(JWKS_URI.toString())) {
                 final ResponseBody responseBody =
-                    ResponseBody.create(JWKS, MediaType.get("application/json"));
+                    ResponseBody.create(jwks, MediaType.get("application/json"));
                 response =
                     new Response.Builder()
                         .request(request)
@@ -121,15 +151,26 @@ class JwkPublicKeyResolverTest {
               return call;
             });
 
-    final TypeManager typeManager = new TypeManager();
-    jwkPublicKeyResolver =
-        new JwkPublicKeyResolver(
-            JWKS_URI,
-            httpClient,
-            typeManager,
-            monitor,
-            Collections.singletonList(publicKeyReader),
-            INTERVAL);
+    jwkPublicKeyResolver = resolver(null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jwkPublicKeyResolver.stop();
+  }
+
+  private JwkPublicKeyResolver resolver(final JsonWebKeySetFile jsonWebKeySetFile) {
+    return new JwkPublicKeyResolver(
+        JWKS_URI,
+        httpClient,
+        TYPE_MANAGER,
+        monitor,
+        Collections.singletonList(publicKeyReader),
+        INTERVAL,
+        ON_DEMAND_INTERVAL,
+        clock,
+        meterRegistry,
+        jsonWebKeySetFile);
   }
 
   @Test
@@ -148,6 +189,162 @@ class JwkPublicKeyResolverTest {
     Assertions.assertNotNull(key);
   }
 
+  @Test
+  void testUnknownKeyIdTriggersRefresh() {
+    final String rotatedKeyId = "rotated";
+    jwkPublicKeyResolver.start();
+    // keys already decoded are reused, so the key set has to change
+    jwks = JWKS.replace(JWKS_KEY_ID, rotatedKeyId);
+    Mockito.when(publicKeyReader.read(any(JsonWebKey.class)))
+        .thenReturn(
+            Optional.of(
+                PublicKeyHolder.builder()
+                    .keyId(rotatedKeyId)
+                    .publicKey(Mockito.mock(PublicKey.class))
+                    .build()));
+
+    final PublicKey key = jwkPublicKeyResolver.resolveKey(rotatedKeyId);
+
+    Assertions.assertNotNull(key);
+    Mockito.verify(httpClient, Mockito.times(2)).newCall(any(Request.class));
+  }
+
+  @Test
+  void testUnknownKeyIdRefreshIsRateLimited() {
+    jwkPublicKeyResolver.start();
+
+    jwkPublicKeyResolver.resolveKey("foo");
+    jwkPublicKeyResolver.resolveKey("bar");
+    jwkPublicKeyResolver.resolveKey("foo");
+
+    Mockito.verify(httpClient, Mockito.times(2)).newCall(any(Request.class));
+  }
+
+  @Test
+  void testUnknownKeyIdRefreshedAgainAfterInterval() {
+    jwkPublicKeyResolver.start();
+
+    jwkPublicKeyResolver.resolveKey("foo");
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(ON_DEMAND_INTERVAL));
+    jwkPublicKeyResolver.resolveKey("foo");
+
+    Mockito.verify(httpClient, Mockito.times(3)).newCall(any(Request.class));
+  }
+
+  @Test
+  void testVerifierReusedForSameKeyAndAlgorithm() throws JOSEException {
+    jwkPublicKeyResolver.start();
+    final JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(JWKS_KEY_ID).build();
+
+    final JWSVerifier verifier = jwkPublicKeyResolver.resolveVerifier(header);
+
+    Assertions.assertNotNull(verifier);
+    Assertions.assertSame(verifier, jwkPublicKeyResolver.resolveVerifier(header));
+  }
+
+  @Test
+  void testVerifierDiscardedOnKeyChange() throws JOSEException, NoSuchAlgorithmException {
+    jwkPublicKeyResolver.start();
+    final JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(JWKS_KEY_ID).build();
+    final JWSVerifier verifier = jwkPublicKeyResolver.resolveVerifier(header);
+
+    final PublicKey rotatedPublicKey =
+        KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+    Mockito.when(publicKeyReader.read(any(JsonWebKey.class)))
+        .thenReturn(
+            Optional.of(
+                PublicKeyHolder.builder().keyId(JWKS_KEY_ID).publicKey(rotatedPublicKey).build()));
+    respondWith(200, JWKS.replace(JWKS_X5T, "rotated"));
+    jwkPublicKeyResolver.synchronizeKeys();
+
+    Assertions.assertNotSame(verifier, jwkPublicKeyResolver.resolveVerifier(header));
+  }
+
+  @Test
+  void testVerifierKeptWhileKeyUnchanged() throws JOSEException {
+    jwkPublicKeyResolver.start();
+    final JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(JWKS_KEY_ID).build();
+
+    final JWSVerifier verifier = jwkPublicKeyResolver.resolveVerifier(header);
+    jwkPublicKeyResolver.synchronizeKeys();
+
+    Assertions.assertSame(verifier, jwkPublicKeyResolver.resolveVerifier(header));
+    Mockito.verify(publicKeyReader, Mockito.times(1)).read(any(JsonWebKey.class));
+  }
+
+  @Test
+  void testConditionalRequestWithValidatorsOfLastResponse() {
+    respondWith(200, JWKS, ETAG, "\"v1\"", LAST_MODIFIED, "Sat, 01 Oct 2022 10:00:00 GMT");
+    jwkPublicKeyResolver.start();
+
+    jwkPublicKeyResolver.synchronizeKeys();
+
+    final ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+    Mockito.verify(httpClient, Mockito.times(2)).newCall(requestCaptor.capture());
+    final Request conditionalRequest = requestCaptor.getAllValues().get(1);
+    Assertions.assertEquals("\"v1\"", conditionalRequest.header("If-None-Match"));
+    Assertions.assertEquals(
+        "Sat, 01 Oct 2022 10:00:00 GMT", conditionalRequest.header("If-Modified-Since"));
+  }
+
+  @Test
+  void testKeysRetainedOnNotModified() throws JOSEException {
+    respondWith(200, JWKS, ETAG, "\"v1\"");
+    jwkPublicKeyResolver.start();
+    final JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(JWKS_KEY_ID).build();
+    final JWSVerifier verifier = jwkPublicKeyResolver.resolveVerifier(header);
+
+    respondWith(304, "");
+
+    Assertions.assertTrue(jwkPublicKeyResolver.synchronizeKeys().succeeded());
+    Assertions.assertSame(verifier, jwkPublicKeyResolver.resolveVerifier(header));
+  }
+
+  @Test
+  void testFetchMetrics() {
+    jwkPublicKeyResolver.start();
+    respondWith(500, "");
+    Assertions.assertTrue(jwkPublicKeyResolver.synchronizeKeys().failed());
+
+    final String uri = JWKS_URI.toString();
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get("edc.oauth2.jwks.fetch")
+            .tags("uri", uri, "status", "200", "outcome", "success")
+            .timer()
+            .count());
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get("edc.oauth2.jwks.fetch")
+            .tags("uri", uri, "status", "500", "outcome", "failure")
+            .timer()
+            .count());
+    Assertions.assertEquals(
+        JWKS.getBytes(StandardCharsets.UTF_8).length,
+        meterRegistry.get("edc.oauth2.jwks.fetch.bytes").tag("uri", uri).summary().totalAmount());
+    Assertions.assertEquals(
+        1, meterRegistry.get("edc.oauth2.jwks.keys").tag("uri", uri).gauge().value());
+  }
+
+  @Test
+  void testVerifierNullForKeyIdNotFound() throws JOSEException {
+    jwkPublicKeyResolver.start();
+    final JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("foo").build();
+
+    Assertions.assertNull(jwkPublicKeyResolver.resolveVerifier(header));
+  }
+
+  @Test
+  void testKeysRetainedOnFailedRefresh() {
+    jwkPublicKeyResolver.start();
+    Mockito.when(httpClient.newCall(any(Request.class))).thenThrow(new RuntimeException());
+
+    Assertions.assertTrue(jwkPublicKeyResolver.synchronizeKeys().failed());
+    Assertions.assertNotNull(jwkPublicKeyResolver.resolveKey(JWKS_KEY_ID));
+  }
+
   @Test
   void testExceptionOnIdentityProviderRespondingWithNon200() {
     Mockito.when(httpClient.newCall(any(Request.class)))
@@ -195,10 +392,80 @@ class JwkPublicKeyResolverTest {
     Assertions.assertThrows(EdcException.class, () -> jwkPublicKeyResolver.start());
   }
 
+  @Test
+  void testStartsWithKeysOfFileIfIdentityProviderUnavailable(@TempDir final Path directory)
+      throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+    jsonWebKeySetFile.write(TYPE_MANAGER.readValue(JWKS, JsonWebKeySet.class));
+    respondWith(500, "");
+    jwkPublicKeyResolver = resolver(jsonWebKeySetFile);
+
+    jwkPublicKeyResolver.start();
+
+    Assertions.assertSame(rsaPublicKey, jwkPublicKeyResolver.resolveKey(JWKS_KEY_ID));
+  }
+
+  @Test
+  void testKeysOfFileRefreshedInBackground(@TempDir final Path directory) throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+    jsonWebKeySetFile.write(TYPE_MANAGER.readValue(JWKS, JsonWebKeySet.class));
+    jwkPublicKeyResolver = resolver(jsonWebKeySetFile);
+
+    jwkPublicKeyResolver.start();
+
+    Mockito.verify(httpClient, Mockito.timeout(5000)).newCall(any(Request.class));
+  }
+
+  @Test
+  void testFetchedKeysWrittenToFile(@TempDir final Path directory) throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+    jwkPublicKeyResolver = resolver(jsonWebKeySetFile);
+
+    jwkPublicKeyResolver.start();
+
+    final JsonWebKeySet jsonWebKeySet = jsonWebKeySetFile.read().orElseThrow();
+    Assertions.assertEquals(JWKS_KEY_ID, jsonWebKeySet.getKeys().get(0).getKid());
+  }
+
+  @Test
+  void testExceptionOnFileWithoutKeysAndIdentityProviderUnavailable(
+      @TempDir final Path directory) throws IOException {
+    final JsonWebKeySetFile jsonWebKeySetFile =
+        JsonWebKeySetFile.of(directory, JWKS_URI, TYPE_MANAGER);
+    jsonWebKeySetFile.write(new JsonWebKeySet());
+    respondWith(500, "");
+    jwkPublicKeyResolver = resolver(jsonWebKeySetFile);
+
+    Assertions.assertThrows(EdcException.class, () -> jwkPublicKeyResolver.start());
+  }
+
   @Test
   void testExceptionOnHttpClientException() {
     Mockito.when(httpClient.newCall(any(Request.class))).thenThrow(new RuntimeException());
 
     Assertions.assertThrows(EdcException.class, () -> jwkPublicKeyResolver.start());
   }
+
+  private void respondWith(final int code, final String body, final String... headers) {
+    Mockito.when(httpClient.newCall(any(Request.class)))
+        .thenAnswer(
+            (i) -> {
+              final Response response =
+                  new Response.Builder()
+                      .request(i.getArgument(0))
+                      .protocol(Protocol.HTTP_1_1)
+                      .headers(Headers.of(headers))
+                      .body(ResponseBody.create(body, MediaType.get("application/json")))
+                      .message("")
+                      .code(code)
+                      .build();
+
+              final Call call = Mockito.mock(Call.class);
+              Mockito.when(call.execute()).thenReturn(response);
+              return call;
+            });
+  }
 }
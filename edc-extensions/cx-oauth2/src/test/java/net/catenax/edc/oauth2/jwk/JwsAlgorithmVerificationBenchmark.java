@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of verifying one token signature per algorithm, with the verifier already
+ * created as done by {@link JwkPublicKeyResolver}.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main JwsAlgorithmVerificationBenchmark} on the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwsAlgorithmVerificationBenchmark {
+
+  @Param({"RS256", "ES256", "ES384", "EdDSA"})
+  private String algorithm;
+
+  private SignedJWT signedJwt;
+  private JWSVerifier verifier;
+
+  @Setup(Level.Trial)
+  public void setUp() throws JOSEException {
+    final JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+    final JWSSigner signer;
+    if (JWSAlgorithm.RS256.equals(jwsAlgorithm)) {
+      final RSAKey rsaKey = new RSAKeyGenerator(2048).generate();
+      signer = new RSASSASigner(rsaKey);
+      verifier = new RSASSAVerifier(rsaKey.toPublicJWK());
+    } else if (JWSAlgorithm.EdDSA.equals(jwsAlgorithm)) {
+      final OctetKeyPair octetKeyPair = new OctetKeyPairGenerator(Curve.Ed25519).generate();
+      signer = new Ed25519Signer(octetKeyPair);
+      verifier = new Ed25519Verifier(octetKeyPair.toPublicJWK());
+    } else {
+      final Curve curve = JWSAlgorithm.ES256.equals(jwsAlgorithm) ? Curve.P_256 : Curve.P_384;
+      final ECKey ecKey = new ECKeyGenerator(curve).generate();
+      signer = new ECDSASigner(ecKey);
+      verifier = new ECDSAVerifier(ecKey.toPublicJWK());
+    }
+
+    signedJwt =
+        new SignedJWT(
+            new JWSHeader.Builder(jwsAlgorithm).keyID("kid").build(),
+            new JWTClaimsSet.Builder().issuer("issuer").subject("benchmark").build());
+    signedJwt.sign(signer);
+  }
+
+  @Benchmark
+  public boolean verify() throws JOSEException {
+    return signedJwt.verify(verifier);
+  }
+}
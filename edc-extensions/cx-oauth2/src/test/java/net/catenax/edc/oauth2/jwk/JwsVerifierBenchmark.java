@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares creating a {@link JWSVerifier} per token with the verifiers cached per key id and
+ * algorithm by {@link JwkPublicKeyResolver}.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main JwsVerifierBenchmark -prof gc} on the test classpath to
+ * include the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwsVerifierBenchmark {
+  private static final String KEY_ID = "kid";
+
+  private KeyPair keyPair;
+  private JWSHeader header;
+  private SignedJWT signedJwt;
+  private StaticJwkPublicKeyResolver resolver;
+
+  @Setup(Level.Trial)
+  public void setUp() throws NoSuchAlgorithmException, JOSEException {
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    keyPair = keyPairGenerator.generateKeyPair();
+
+    header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(KEY_ID).build();
+    signedJwt = new SignedJWT(header, new JWTClaimsSet.Builder().subject("benchmark").build());
+    signedJwt.sign(new RSASSASigner(keyPair.getPrivate()));
+
+    resolver = new StaticJwkPublicKeyResolver(Map.of(KEY_ID, keyPair.getPublic()));
+    resolver.synchronizeKeys();
+  }
+
+  @Benchmark
+  public JWSVerifier createVerifier() throws JOSEException {
+    return new DefaultJWSVerifierFactory().createJWSVerifier(header, keyPair.getPublic());
+  }
+
+  @Benchmark
+  public JWSVerifier resolveCachedVerifier() throws JOSEException {
+    return resolver.resolveVerifier(header);
+  }
+
+  @Benchmark
+  public boolean verifyWithCreatedVerifier() throws JOSEException {
+    return signedJwt.verify(
+        new DefaultJWSVerifierFactory().createJWSVerifier(header, keyPair.getPublic()));
+  }
+
+  @Benchmark
+  public boolean verifyWithCachedVerifier() throws JOSEException {
+    return signedJwt.verify(resolver.resolveVerifier(header));
+  }
+}
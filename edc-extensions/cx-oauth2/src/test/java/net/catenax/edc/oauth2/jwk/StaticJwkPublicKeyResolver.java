@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwk;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import okhttp3.OkHttpClient;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.mockito.Mockito;
+
+/** Resolver serving a fixed key set instead of calling the identity provider. */
+public class StaticJwkPublicKeyResolver extends JwkPublicKeyResolver {
+  private final Map<String, PublicKey> fetchedKeys;
+
+  public StaticJwkPublicKeyResolver(final Map<String, PublicKey> fetchedKeys) {
+    super(
+        URI.create("http://localhost/jwks"),
+        new OkHttpClient(),
+        new TypeManager(),
+        Mockito.mock(Monitor.class),
+        Collections.emptyList(),
+        Duration.ofMinutes(5),
+        Duration.ofSeconds(30),
+        Clock.systemUTC(),
+        new SimpleMeterRegistry(),
+        null);
+    this.fetchedKeys = fetchedKeys;
+  }
+
+  @Override
+  public Result<Map<String, PublicKey>> synchronizeKeys() {
+    return super.synchronizeKeys();
+  }
+
+  @Override
+  protected Result<Map<String, PublicKey>> fetchKeys() {
+    return Result.success(fetchedKeys);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.generator;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.catenax.edc.oauth2.jwt.decorator.DapsJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.ExpJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.IatJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.IdsAudJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.IssJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.JtiJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.SubJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.X5tJwtDecorator;
+import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the template based {@link JwtTokenGenerationService} with building header and claims
+ * from all decorators for every token, as done before, for RSA and EC keys.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main JwtTokenGenerationServiceBenchmark -prof gc} on the test
+ * classpath to include the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenGenerationServiceBenchmark {
+  private static final String CLIENT_ID = "client-id";
+
+  @Param({"RSA-2048", "RSA-4096", "EC-P256"})
+  private String key;
+
+  private JwtDecorator[] decorators;
+  private JwtTokenGenerationService tokenGenerationService;
+  private JWSAlgorithm jwsAlgorithm;
+  private JWSSigner jwsSigner;
+
+  @Setup(Level.Trial)
+  public void setUp() throws GeneralSecurityException, JOSEException {
+    final KeyPair keyPair;
+    switch (key) {
+      case "RSA-2048":
+      case "RSA-4096":
+        final KeyPairGenerator rsaKeyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaKeyPairGenerator.initialize(Integer.parseInt(key.substring("RSA-".length())));
+        keyPair = rsaKeyPairGenerator.generateKeyPair();
+        jwsAlgorithm = JWSAlgorithm.RS256;
+        jwsSigner = new RSASSASigner(keyPair.getPrivate());
+        break;
+      case "EC-P256":
+        final KeyPairGenerator ecKeyPairGenerator = KeyPairGenerator.getInstance("EC");
+        ecKeyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        keyPair = ecKeyPairGenerator.generateKeyPair();
+        jwsAlgorithm = JWSAlgorithm.ES256;
+        jwsSigner = new ECDSASigner((ECPrivateKey) keyPair.getPrivate());
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported key: " + key);
+    }
+
+    tokenGenerationService =
+        new JwtTokenGenerationService(keyPair.getPrivate(), new SimpleMeterRegistry());
+
+    final Clock clock = Clock.systemUTC();
+    final byte[] encodedCertificate = new byte[1024];
+    decorators =
+        new JwtDecorator[] {
+          new IdsAudJwtDecorator(),
+          new ExpJwtDecorator(clock, Duration.ofMinutes(5)),
+          new IatJwtDecorator(clock),
+          new IssJwtDecorator(CLIENT_ID),
+          new JtiJwtDecorator(),
+          new SubJwtDecorator(CLIENT_ID),
+          new X5tJwtDecorator(encodedCertificate),
+          new DapsJwtDecorator()
+        };
+  }
+
+  @Benchmark
+  public Result<TokenRepresentation> template() {
+    return tokenGenerationService.generate(decorators);
+  }
+
+  @Benchmark
+  public String perToken() throws JOSEException {
+    final JWSHeader.Builder headerBuilder = new JWSHeader.Builder(jwsAlgorithm);
+    final JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder();
+    for (final JwtDecorator decorator : decorators) {
+      for (final Map.Entry<String, Object> claim : decorator.claims().entrySet()) {
+        claimsBuilder.claim(claim.getKey(), claim.getValue());
+      }
+      headerBuilder.customParams(decorator.headers());
+    }
+
+    final SignedJWT signedJwt = new SignedJWT(headerBuilder.build(), claimsBuilder.build());
+    signedJwt.sign(jwsSigner);
+
+    return signedJwt.serialize();
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.generator;
+
+import com.google.crypto.tink.subtle.Ed25519Sign;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import lombok.SneakyThrows;
+import net.catenax.edc.oauth2.jwt.decorator.DapsJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.ExpJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.IatJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.IdsAudJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.IssJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
+import net.catenax.edc.oauth2.jwt.decorator.JtiJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.SubJwtDecorator;
+import net.catenax.edc.oauth2.jwt.decorator.X5tJwtDecorator;
+import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
+import org.eclipse.dataspaceconnector.spi.jwt.JwtDecorator;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class JwtTokenGenerationServiceTest {
+  private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+  private static final String CLIENT_ID = "client-id";
+  private static final byte[] ED25519_PKCS8_PREFIX = {
+    0x30, 0x2e, 0x02, 0x01, 0x00, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x04, 0x22, 0x04, 0x20
+  };
+
+  private KeyPair keyPair;
+  private MeterRegistry meterRegistry;
+  private JwtTokenGenerationService tokenGenerationService;
+  private JwtDecorator[] decorators;
+
+  @BeforeEach
+  @SneakyThrows
+  void setUp() {
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    keyPair = keyPairGenerator.generateKeyPair();
+    meterRegistry = new SimpleMeterRegistry();
+
+    tokenGenerationService = new JwtTokenGenerationService(keyPair.getPrivate(), meterRegistry);
+
+    final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    decorators =
+        new JwtDecorator[] {
+          new IdsAudJwtDecorator(),
+          new ExpJwtDecorator(clock, Duration.ofMinutes(5)),
+          new IatJwtDecorator(clock),
+          new IssJwtDecorator(CLIENT_ID),
+          new JtiJwtDecorator(),
+          new SubJwtDecorator(CLIENT_ID),
+          new X5tJwtDecorator(new byte[] {1, 2, 3}),
+          new DapsJwtDecorator()
+        };
+  }
+
+  @Test
+  @SneakyThrows
+  void testTokenSignedWithAllClaims() {
+    final SignedJWT signedJwt = generate(decorators);
+
+    Assertions.assertTrue(
+        signedJwt.verify(new RSASSAVerifier((RSAPublicKey) keyPair.getPublic())));
+    Assertions.assertNotNull(signedJwt.getHeader().getX509CertThumbprint());
+    Assertions.assertEquals(CLIENT_ID, signedJwt.getJWTClaimsSet().getIssuer());
+    Assertions.assertEquals(CLIENT_ID, signedJwt.getJWTClaimsSet().getSubject());
+    Assertions.assertEquals(
+        List.of("idsc:IDS_CONNECTORS_ALL"), signedJwt.getJWTClaimsSet().getAudience());
+    Assertions.assertEquals(Date.from(NOW), signedJwt.getJWTClaimsSet().getIssueTime());
+    Assertions.assertEquals(
+        Date.from(NOW.plus(Duration.ofMinutes(5))),
+        signedJwt.getJWTClaimsSet().getExpirationTime());
+    Assertions.assertEquals("ids:DatRequestToken", signedJwt.getJWTClaimsSet().getClaim("@type"));
+  }
+
+  @Test
+  @SneakyThrows
+  void testJwtIdUniquePerToken() {
+    final SignedJWT first = generate(decorators);
+    final SignedJWT second = generate(decorators);
+
+    Assertions.assertNotEquals(
+        first.getJWTClaimsSet().getJWTID(), second.getJWTClaimsSet().getJWTID());
+  }
+
+  @Test
+  void testSigningTimedByAlgorithm() {
+    generate(decorators);
+    generate(decorators);
+
+    Assertions.assertEquals(
+        2,
+        meterRegistry
+            .get("edc.oauth2.assertion.sign")
+            .tags("algorithm", "RS256", "outcome", "success")
+            .timer()
+            .count());
+  }
+
+  @Test
+  @SneakyThrows
+  void testTemplateReplacedWhenStaticDecoratorsChange() {
+    generate(decorators);
+
+    final SignedJWT signedJwt =
+        generate(new IssJwtDecorator("other"), new IatJwtDecorator(Clock.systemUTC()));
+
+    Assertions.assertEquals("other", signedJwt.getJWTClaimsSet().getIssuer());
+    Assertions.assertNull(signedJwt.getJWTClaimsSet().getSubject());
+  }
+
+  @Test
+  @SneakyThrows
+  void testDynamicDecoratorOverridingStaticClaim() {
+    final JwtDecorator issuerOverride =
+        new JwtDecorator() {
+          @Override
+          public Map<String, Object> claims() {
+            return Map.of(JWTClaimNames.ISSUER, "override");
+          }
+
+          @Override
+          public Map<String, Object> headers() {
+            return Map.of();
+          }
+        };
+
+    final SignedJWT signedJwt = generate(new IssJwtDecorator(CLIENT_ID), issuerOverride);
+
+    Assertions.assertEquals("override", signedJwt.getJWTClaimsSet().getIssuer());
+  }
+
+  @Test
+  @SneakyThrows
+  void testEcP384KeySignsWithEs384() {
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+    keyPairGenerator.initialize(new ECGenParameterSpec("secp384r1"));
+    final KeyPair ecKeyPair = keyPairGenerator.generateKeyPair();
+    tokenGenerationService = new JwtTokenGenerationService(ecKeyPair.getPrivate(), meterRegistry);
+
+    final SignedJWT signedJwt = generate(decorators);
+
+    Assertions.assertEquals(JWSAlgorithm.ES384, signedJwt.getHeader().getAlgorithm());
+    Assertions.assertTrue(signedJwt.verify(new ECDSAVerifier((ECPublicKey) ecKeyPair.getPublic())));
+  }
+
+  @Test
+  @SneakyThrows
+  void testEd25519KeySignsWithEdDsa() {
+    final byte[] seed = new byte[32];
+    new SecureRandom().nextBytes(seed);
+    final byte[] encoded = new byte[ED25519_PKCS8_PREFIX.length + seed.length];
+    System.arraycopy(ED25519_PKCS8_PREFIX, 0, encoded, 0, ED25519_PKCS8_PREFIX.length);
+    System.arraycopy(seed, 0, encoded, ED25519_PKCS8_PREFIX.length, seed.length);
+
+    final PrivateKey privateKey = Mockito.mock(PrivateKey.class);
+    Mockito.when(privateKey.getAlgorithm()).thenReturn("Ed25519");
+    Mockito.when(privateKey.getEncoded()).thenReturn(encoded);
+    tokenGenerationService = new JwtTokenGenerationService(privateKey, meterRegistry);
+
+    final SignedJWT signedJwt = generate(decorators);
+
+    final byte[] publicKey = Ed25519Sign.KeyPair.newKeyPairFromSeed(seed).getPublicKey();
+    final OctetKeyPair octetKeyPair =
+        new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(publicKey)).build();
+    Assertions.assertEquals(JWSAlgorithm.EdDSA, signedJwt.getHeader().getAlgorithm());
+    Assertions.assertTrue(signedJwt.verify(new Ed25519Verifier(octetKeyPair)));
+  }
+
+  @SneakyThrows
+  private SignedJWT generate(final JwtDecorator... decorators) {
+    final Result<TokenRepresentation> result = tokenGenerationService.generate(decorators);
+    Assertions.assertTrue(result.succeeded());
+
+    return SignedJWT.parse(result.getContent().getToken());
+  }
+}
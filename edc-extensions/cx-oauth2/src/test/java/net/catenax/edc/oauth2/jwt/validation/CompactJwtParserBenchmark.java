@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing a DAPS token and reading its claims with nimbus and with {@link
+ * CompactJwtParser}.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main CompactJwtParserBenchmark -prof gc} on the test
+ * classpath to include the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactJwtParserBenchmark {
+
+  private final CompactJwtParser parser = new CompactJwtParser();
+
+  private String token;
+
+  @Setup(Level.Trial)
+  public void setUp() throws JOSEException {
+    final Date now = new Date();
+    final SignedJWT signedJwt =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .type(new JOSEObjectType("at+jwt"))
+                .keyID("default")
+                .build(),
+            new JWTClaimsSet.Builder()
+                .issuer("http://daps")
+                .subject("client")
+                .audience("idsc:IDS_CONNECTORS_ALL")
+                .issueTime(now)
+                .notBeforeTime(now)
+                .expirationTime(new Date(now.getTime() + 3600_000))
+                .jwtID("MTY2NjAwMDAwMA")
+                .claim("scope", "idsc:IDS_CONNECTOR_ATTRIBUTES_ALL")
+                .claim("client_id", "client")
+                .claim("referringConnector", "http://connector/BPNL000000000000")
+                .claim("@type", "ids:DatPayload")
+                .claim("@context", "https://w3id.org/idsa/contexts/context.jsonld")
+                .claim("securityProfile", "idsc:BASE_SECURITY_PROFILE")
+                .build());
+    signedJwt.sign(new RSASSASigner(new RSAKeyGenerator(2048).generate()));
+
+    token = signedJwt.serialize();
+  }
+
+  @Benchmark
+  public Map<String, Object> nimbus() throws ParseException {
+    return SignedJWT.parse(token).getJWTClaimsSet().getClaims();
+  }
+
+  @Benchmark
+  public Map<String, Object> compact() throws ParseException {
+    return parser.parse(token).getClaims();
+  }
+}
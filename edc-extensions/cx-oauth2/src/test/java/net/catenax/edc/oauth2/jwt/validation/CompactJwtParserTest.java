@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Compares the parser with nimbus on a corpus of well-formed, unusual and malformed tokens. */
+class CompactJwtParserTest {
+
+  private static final String HEADER = "{\"typ\":\"at+jwt\",\"kid\":\"default\",\"alg\":\"RS256\"}";
+
+  private static final String DAPS_PAYLOAD =
+      "{\"scope\":\"idsc:IDS_CONNECTOR_ATTRIBUTES_ALL\",\"aud\":\"idsc:IDS_CONNECTORS_ALL\","
+          + "\"iss\":\"http://daps\",\"sub\":\"client\",\"nbf\":1666000000,\"iat\":1666000000,"
+          + "\"jti\":\"MTY2NjAwMDAwMA\",\"exp\":1666003600,\"client_id\":\"client\","
+          + "\"referringConnector\":\"http://connector/BPNL000000000000\","
+          + "\"@type\":\"ids:DatPayload\","
+          + "\"@context\":\"https://w3id.org/idsa/contexts/context.jsonld\","
+          + "\"securityProfile\":\"idsc:BASE_SECURITY_PROFILE\"}";
+
+  private static JWSSigner signer;
+  private static JWSVerifier verifier;
+
+  private final CompactJwtParser parser = new CompactJwtParser();
+
+  @BeforeAll
+  @SneakyThrows
+  static void setUpKeys() {
+    final RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("default").generate();
+    signer = new RSASSASigner(rsaKey);
+    verifier = new RSASSAVerifier(rsaKey.toPublicJWK());
+  }
+
+  private static Stream<Arguments> compactTokens() {
+    return Stream.of(
+        Arguments.of(HEADER, DAPS_PAYLOAD),
+        Arguments.of("{\"alg\":\"RS256\"}", DAPS_PAYLOAD),
+        Arguments.of("{\"alg\":\"ES256\",\"kid\":\"k\"}", DAPS_PAYLOAD),
+        Arguments.of(HEADER, "{}"),
+        Arguments.of(HEADER, "{\"aud\":[\"a\",\"b\"],\"exp\":1666003600}"),
+        Arguments.of(HEADER, "{\"aud\":[]}"),
+        Arguments.of(HEADER, "{\"name\":\"\\u00e9\\n\\\"\\/ü\",\"flag\":true,\"off\":false}"),
+        Arguments.of(HEADER, "{\"big\":9223372036854775807,\"negative\":-1,\"exp\":0}"),
+        Arguments.of(HEADER, "{ \"iss\" : \"issuer\" ,\n\"sub\":\"subject\" }  "));
+  }
+
+  private static Stream<Arguments> nimbusTokens() {
+    return Stream.of(
+        // header parameters other than alg, kid and typ
+        Arguments.of("{\"alg\":\"RS256\",\"x5t\":\"dGh1bWI\"}", DAPS_PAYLOAD),
+        Arguments.of("{\"alg\":\"RS256\",\"crit\":[\"exp\"],\"exp\":1}", DAPS_PAYLOAD),
+        Arguments.of("{\"alg\":\"RS256\",\"kid\":null}", DAPS_PAYLOAD),
+        Arguments.of("{\"alg\":\"HS256\"}", DAPS_PAYLOAD),
+        Arguments.of(" {\"alg\":\"RS256\"}", DAPS_PAYLOAD),
+        // claims other than strings, integers and booleans
+        Arguments.of(HEADER, "{\"scopes\":[\"a\",\"b\"]}"),
+        Arguments.of(HEADER, "{\"cnf\":{\"x5t#S256\":\"abc\"}}"),
+        Arguments.of(HEADER, "{\"ratio\":1.5}"),
+        Arguments.of(HEADER, "{\"exp\":1666003600.5}"),
+        Arguments.of(HEADER, "{\"huge\":92233720368547758070}"),
+        Arguments.of(HEADER, "{\"note\":null}"),
+        Arguments.of(HEADER, "{\"aud\":[\"a\",1]}"),
+        Arguments.of(HEADER, "{\"aud\":true}"),
+        Arguments.of(HEADER, "{\"iss\":1}"),
+        // duplicate claims and trailing content
+        Arguments.of(HEADER, "{\"aud\":\"a\",\"aud\":\"b\"}"),
+        Arguments.of(HEADER, "{\"sub\":\"a\"} {}"));
+  }
+
+  private static Stream<Arguments> malformedTokens() {
+    return Stream.of(
+        Arguments.of("{\"alg\":\"none\"}", DAPS_PAYLOAD),
+        Arguments.of("{\"kid\":\"default\"}", DAPS_PAYLOAD),
+        Arguments.of("{\"alg\":\"RS256\"", DAPS_PAYLOAD),
+        Arguments.of(HEADER, "[]"),
+        Arguments.of(HEADER, "{\"exp\":\"tomorrow\"}"),
+        Arguments.of(HEADER, "not json"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("compactTokens")
+  void testCompactParsingEqualsNimbus(final String header, final String payload) {
+    final String token = sign(header, payload);
+
+    Assertions.assertNotNull(parser.parseCompact(token));
+    assertParsedLikeNimbus(token);
+  }
+
+  @ParameterizedTest
+  @MethodSource("nimbusTokens")
+  void testUnusualTokensParsedByNimbus(final String header, final String payload) {
+    final String token = sign(header, payload);
+
+    Assertions.assertNull(parser.parseCompact(token));
+    assertParsedLikeNimbus(token);
+  }
+
+  @ParameterizedTest
+  @MethodSource("malformedTokens")
+  void testMalformedTokensRejectedLikeNimbus(final String header, final String payload) {
+    final String token = sign(header, payload);
+
+    Assertions.assertThrows(ParseException.class, () -> SignedJWT.parse(token).getJWTClaimsSet());
+    Assertions.assertThrows(ParseException.class, () -> parser.parse(token));
+  }
+
+  @Test
+  void testMalformedSegmentsRejectedLikeNimbus() {
+    final String token = sign(HEADER, DAPS_PAYLOAD);
+    final String[] segments = token.split("\\.");
+
+    Stream.of(
+            segments[0] + "." + segments[1],
+            segments[0] + "." + segments[1] + "." + segments[2] + ".",
+            "." + segments[1] + "." + segments[2],
+            segments[0] + "..." + segments[2])
+        .forEach(
+            malformed ->
+                Assertions.assertThrows(ParseException.class, () -> parser.parse(malformed)));
+  }
+
+  @Test
+  void testUnpaddedAndIllegalBase64() {
+    final String token = sign(HEADER, DAPS_PAYLOAD);
+    final String[] segments = token.split("\\.");
+
+    Stream.of(
+            segments[0] + "=." + segments[1] + "." + segments[2],
+            segments[0] + "." + segments[1] + "A." + segments[2],
+            segments[0] + "." + segments[1].replace('_', '/') + "." + segments[2])
+        .forEach(this::assertParsedLikeNimbus);
+  }
+
+  @Test
+  void testTamperedSignatureRejected() {
+    final String token = sign(HEADER, DAPS_PAYLOAD);
+    final String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+    assertParsedLikeNimbus(tampered);
+  }
+
+  @Test
+  void testBufferReusedForLargerToken() {
+    final String largeClaim = "x".repeat(10 * 1024);
+    final String token = sign(HEADER, "{\"large\":\"" + largeClaim + "\"}");
+
+    Assertions.assertNotNull(parser.parseCompact(token));
+    assertParsedLikeNimbus(token);
+    assertParsedLikeNimbus(sign(HEADER, DAPS_PAYLOAD));
+  }
+
+  @SneakyThrows
+  private void assertParsedLikeNimbus(final String token) {
+    final SignedJWT expected;
+    final Map<String, Object> expectedClaims;
+    try {
+      expected = SignedJWT.parse(token);
+      expectedClaims = expected.getJWTClaimsSet().getClaims();
+    } catch (final ParseException parseException) {
+      Assertions.assertThrows(ParseException.class, () -> parser.parse(token));
+      return;
+    }
+
+    final ParsedJwt actual = parser.parse(token);
+
+    final JWSHeader expectedHeader = expected.getHeader();
+    Assertions.assertEquals(expectedHeader.getAlgorithm(), actual.getHeader().getAlgorithm());
+    Assertions.assertEquals(expectedHeader.getKeyID(), actual.getHeader().getKeyID());
+    Assertions.assertEquals(expectedHeader.getType(), actual.getHeader().getType());
+    Assertions.assertEquals(
+        expectedHeader.getCriticalParams(), actual.getHeader().getCriticalParams());
+
+    Assertions.assertEquals(expectedClaims, actual.getClaims());
+    Assertions.assertEquals(asStrings(expectedClaims), asStrings(actual.getClaims()));
+
+    if (JWSAlgorithm.RS256.equals(expectedHeader.getAlgorithm())) {
+      Assertions.assertEquals(expected.verify(verifier), actual.verify(verifier));
+    }
+  }
+
+  private static Map<String, String> asStrings(final Map<String, Object> claims) {
+    return claims.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> Objects.toString(entry.getValue())));
+  }
+
+  /** Signs the header and payload as they are, without normalizing the json. */
+  @SneakyThrows
+  private static String sign(final String header, final String payload) {
+    final String signingInput =
+        Base64URL.encode(header.getBytes(StandardCharsets.UTF_8))
+            + "."
+            + Base64URL.encode(payload.getBytes(StandardCharsets.UTF_8));
+    final Base64URL signature =
+        signer.sign(
+            new JWSHeader(JWSAlgorithm.RS256), signingInput.getBytes(StandardCharsets.US_ASCII));
+
+    return signingInput + "." + signature;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.catenax.edc.oauth2.jwt.validation.JtiReplayCache.Registration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link JtiReplayCache} with several threads checking tokens that were
+ * seen before, as most tokens of a connector are, and tokens with new ids.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main JtiReplayCacheBenchmark} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class JtiReplayCacheBenchmark {
+  private static final int KNOWN_TOKENS = 1000;
+
+  private JtiReplayCache jtiReplayCache;
+  private String[] knownTokenIds;
+  private Instant expiresAt;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Clock clock = Clock.systemUTC();
+    jtiReplayCache = new JtiReplayCache(clock, Duration.ofMinutes(1), 64, 100_000);
+    expiresAt = clock.instant().plus(Duration.ofHours(1));
+
+    knownTokenIds = new String[KNOWN_TOKENS];
+    for (int i = 0; i < KNOWN_TOKENS; i++) {
+      knownTokenIds[i] = "http://daps known-" + i;
+      jtiReplayCache.register(knownTokenIds[i], knownTokenIds[i], expiresAt);
+    }
+  }
+
+  @Benchmark
+  public Registration knownToken() {
+    final int i = ThreadLocalRandom.current().nextInt(KNOWN_TOKENS);
+    return jtiReplayCache.register(knownTokenIds[i], knownTokenIds[i], expiresAt);
+  }
+
+  @Benchmark
+  public Registration newToken() {
+    // once the cache is full new ids are rejected, which is part of the measurement
+    final String tokenId = "http://daps " + ThreadLocalRandom.current().nextLong();
+    return jtiReplayCache.register(tokenId, tokenId, expiresAt);
+  }
+}
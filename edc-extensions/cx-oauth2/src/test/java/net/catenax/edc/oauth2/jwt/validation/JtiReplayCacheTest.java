@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import net.catenax.edc.oauth2.jwt.validation.JtiReplayCache.Registration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class JtiReplayCacheTest {
+  private static final Instant NOW = Instant.parse("2022-10-18T10:00:00Z");
+  private static final Duration BUCKET_WIDTH = Duration.ofMinutes(1);
+
+  private Clock clock;
+  private JtiReplayCache jtiReplayCache;
+
+  @BeforeEach
+  void setUp() {
+    clock = Mockito.mock(Clock.class);
+    Mockito.when(clock.millis()).thenReturn(NOW.toEpochMilli());
+
+    jtiReplayCache = new JtiReplayCache(clock, BUCKET_WIDTH, 4, 100);
+  }
+
+  @Test
+  void testSameTokenAccepted() {
+    final Instant expiresAt = NOW.plusSeconds(90);
+
+    Assertions.assertEquals(Registration.ACCEPTED, jtiReplayCache.register("jti", "a", expiresAt));
+    Assertions.assertEquals(Registration.ACCEPTED, jtiReplayCache.register("jti", "a", expiresAt));
+    Assertions.assertEquals(1, jtiReplayCache.size());
+  }
+
+  @Test
+  void testOtherTokenWithSameIdRejected() {
+    jtiReplayCache.register("jti", "a", NOW.plusSeconds(90));
+
+    Assertions.assertEquals(
+        Registration.REUSED, jtiReplayCache.register("jti", "b", NOW.plusSeconds(90)));
+    Assertions.assertEquals(
+        Registration.REUSED, jtiReplayCache.register("jti", "b", NOW.plusSeconds(150)));
+    Assertions.assertEquals(
+        Registration.REUSED, jtiReplayCache.register("jti", "b", NOW.plusSeconds(30)));
+  }
+
+  @Test
+  void testEntriesDroppedWithTheirBucket() {
+    jtiReplayCache.register("short", "a", NOW.plusSeconds(30));
+    jtiReplayCache.register("long", "a", NOW.plusSeconds(150));
+
+    Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(90).toEpochMilli());
+
+    Assertions.assertEquals(1, jtiReplayCache.size());
+    Assertions.assertEquals(
+        Registration.ACCEPTED, jtiReplayCache.register("short", "b", NOW.plusSeconds(210)));
+    Assertions.assertEquals(
+        Registration.REUSED, jtiReplayCache.register("long", "b", NOW.plusSeconds(210)));
+  }
+
+  @Test
+  void testLongLivedTokensKeptInLastBucket() {
+    final Instant expiresAt = NOW.plus(Duration.ofHours(1));
+    jtiReplayCache.register("jti", "a", expiresAt);
+
+    Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(150).toEpochMilli());
+    Assertions.assertEquals(Registration.REUSED, jtiReplayCache.register("jti", "b", expiresAt));
+
+    Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(270).toEpochMilli());
+    Assertions.assertEquals(Registration.ACCEPTED, jtiReplayCache.register("jti", "b", expiresAt));
+  }
+
+  @Test
+  void testExpiredTokensNotRemembered() {
+    Assertions.assertEquals(
+        Registration.ACCEPTED, jtiReplayCache.register("jti", "a", NOW.minusSeconds(90)));
+
+    Assertions.assertEquals(0, jtiReplayCache.size());
+  }
+
+  @Test
+  void testNewIdsRejectedWhenFull() {
+    final JtiReplayCache smallCache = new JtiReplayCache(clock, BUCKET_WIDTH, 4, 8);
+    for (int i = 0; i < 8; i++) {
+      Assertions.assertEquals(
+          Registration.ACCEPTED, smallCache.register("jti-" + i, "a", NOW.plusSeconds(30)));
+    }
+
+    Assertions.assertEquals(
+        Registration.CAPACITY_EXCEEDED, smallCache.register("jti-8", "a", NOW.plusSeconds(30)));
+    Assertions.assertEquals(
+        Registration.ACCEPTED, smallCache.register("jti-0", "a", NOW.plusSeconds(30)));
+    Assertions.assertEquals(
+        Registration.REUSED, smallCache.register("jti-0", "b", NOW.plusSeconds(30)));
+    Assertions.assertEquals(8, smallCache.size());
+  }
+
+  @Test
+  void testExpiredIdsEvictedWhenFull() {
+    final JtiReplayCache smallCache = new JtiReplayCache(clock, BUCKET_WIDTH, 4, 2);
+    smallCache.register("a", "a", NOW.plusSeconds(30));
+    smallCache.register("b", "a", NOW.plusSeconds(30));
+
+    Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(90).toEpochMilli());
+
+    Assertions.assertEquals(
+        Registration.ACCEPTED, smallCache.register("c", "a", NOW.plusSeconds(150)));
+    Assertions.assertEquals(1, smallCache.size());
+  }
+
+  @Test
+  void testDisabled() {
+    final JtiReplayCache disabledCache = new JtiReplayCache(clock, BUCKET_WIDTH, 4, 0);
+    disabledCache.register("jti", "a", NOW.plusSeconds(30));
+
+    Assertions.assertEquals(
+        Registration.ACCEPTED, disabledCache.register("jti", "b", NOW.plusSeconds(30)));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JtiValidationRuleTest {
+  private static final Instant NOW = Instant.parse("2022-10-18T10:00:00Z");
+
+  private JtiValidationRule rule;
+
+  @BeforeEach
+  void setUp() {
+    final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    rule = new JtiValidationRule(new JtiReplayCache(clock, Duration.ofMinutes(1), 64, 1000));
+  }
+
+  @Test
+  void testTokenPresentedAgainAccepted() {
+    final ClaimToken token = token("issuer", "jti", "subject");
+
+    Assertions.assertTrue(rule.checkRule(token, null).succeeded());
+    Assertions.assertTrue(rule.checkRule(token, null).succeeded());
+  }
+
+  @Test
+  void testOtherTokenWithSameIdRejected() {
+    Assertions.assertTrue(rule.checkRule(token("issuer", "jti", "subject"), null).succeeded());
+
+    Assertions.assertTrue(rule.checkRule(token("issuer", "jti", "other"), null).failed());
+  }
+
+  @Test
+  void testSameIdOfOtherIssuerAccepted() {
+    Assertions.assertTrue(rule.checkRule(token("issuer", "jti", "subject"), null).succeeded());
+
+    Assertions.assertTrue(rule.checkRule(token("other", "jti", "other"), null).succeeded());
+  }
+
+  @Test
+  void testTokenPresentedAgainWithSameDigestAccepted() {
+    final ClaimToken token = token("issuer", "jti", "subject");
+
+    Assertions.assertTrue(rule.checkToken(token, "digest").succeeded());
+    Assertions.assertTrue(rule.checkToken(token, "digest").succeeded());
+  }
+
+  @Test
+  void testOtherTokenWithSameIdAndDigestOfOtherTokenRejected() {
+    Assertions.assertTrue(rule.checkToken(token("issuer", "jti", "subject"), "digest").succeeded());
+
+    final Result<Void> result = rule.checkToken(token("issuer", "jti", "subject"), "other");
+
+    Assertions.assertTrue(result.failed());
+    Assertions.assertEquals(
+        List.of(JtiValidationRule.TOKEN_ID_REUSED), result.getFailureMessages());
+  }
+
+  @Test
+  void testNewIdRejectedWhenCacheFull() {
+    final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    rule = new JtiValidationRule(new JtiReplayCache(clock, Duration.ofMinutes(1), 1, 1));
+    Assertions.assertTrue(rule.checkRule(token("issuer", "jti", "subject"), null).succeeded());
+
+    final Result<Void> result = rule.checkRule(token("issuer", "other", "subject"), null);
+
+    Assertions.assertTrue(result.failed());
+    Assertions.assertEquals(
+        List.of(JtiValidationRule.TOKEN_ID_CACHE_FULL), result.getFailureMessages());
+  }
+
+  @Test
+  void testTokenWithoutIdAccepted() {
+    final ClaimToken token =
+        ClaimToken.Builder.newInstance()
+            .claim("exp", Date.from(NOW.plusSeconds(60)))
+            .claim("sub", "subject")
+            .build();
+
+    Assertions.assertTrue(rule.checkRule(token, null).succeeded());
+  }
+
+  private static ClaimToken token(final String issuer, final String tokenId, final String subject) {
+    return ClaimToken.Builder.newInstance()
+        .claim("iss", issuer)
+        .claim("jti", tokenId)
+        .claim("sub", subject)
+        .claim("exp", Date.from(NOW.plusSeconds(600)))
+        .build();
+  }
+}
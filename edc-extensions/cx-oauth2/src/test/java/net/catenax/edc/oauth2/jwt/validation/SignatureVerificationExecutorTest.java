@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.util.Base64URL;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class SignatureVerificationExecutorTest {
+  private static final ParsedJwt PARSED_JWT =
+      new ParsedJwt(new JWSHeader(JWSAlgorithm.RS256), new byte[0], new Base64URL(""), Map.of());
+
+  private MeterRegistry meterRegistry;
+  private SignatureVerificationExecutor signatureVerificationExecutor;
+  private ExecutorService callers;
+
+  // mocks
+  private JWSVerifier verifier;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    callers = Executors.newCachedThreadPool();
+    verifier = Mockito.mock(JWSVerifier.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+    if (signatureVerificationExecutor != null) {
+      signatureVerificationExecutor.shutdown();
+    }
+  }
+
+  @Test
+  void testVerifiedOnExecutorThread() throws Exception {
+    signatureVerificationExecutor = new SignatureVerificationExecutor(1, 1, meterRegistry);
+    final AtomicReference<Thread> verifyingThread = new AtomicReference<>();
+    whenVerified(
+        () -> {
+          verifyingThread.set(Thread.currentThread());
+          return true;
+        });
+
+    Assertions.assertTrue(signatureVerificationExecutor.verify(PARSED_JWT, verifier));
+    Assertions.assertNotEquals(Thread.currentThread(), verifyingThread.get());
+  }
+
+  @Test
+  void testExceptionPropagated() throws Exception {
+    signatureVerificationExecutor = new SignatureVerificationExecutor(1, 1, meterRegistry);
+    whenVerified(
+        () -> {
+          throw new JOSEException("invalid key");
+        });
+
+    Assertions.assertThrows(
+        JOSEException.class, () -> signatureVerificationExecutor.verify(PARSED_JWT, verifier));
+  }
+
+  @Test
+  void testRejectedIfQueueFull() throws Exception {
+    signatureVerificationExecutor = new SignatureVerificationExecutor(1, 1, meterRegistry);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    whenVerified(
+        () -> {
+          started.countDown();
+          return release.await(10, TimeUnit.SECONDS);
+        });
+
+    final Future<Boolean> running =
+        callers.submit(() -> signatureVerificationExecutor.verify(PARSED_JWT, verifier));
+    Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+    final Future<Boolean> queued =
+        callers.submit(() -> signatureVerificationExecutor.verify(PARSED_JWT, verifier));
+    awaitQueued(1);
+
+    Assertions.assertThrows(
+        RejectedExecutionException.class,
+        () -> signatureVerificationExecutor.verify(PARSED_JWT, verifier));
+
+    release.countDown();
+    Assertions.assertTrue(running.get(10, TimeUnit.SECONDS));
+    Assertions.assertTrue(queued.get(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Load test: many more concurrent verifications than threads and queue can take. Verifications
+   * accepted wait at most for the queue ahead of them, the others are rejected right away instead
+   * of waiting for all verifications ahead of them.
+   */
+  @Test
+  void testLatencyBoundedUnderOverload() throws Exception {
+    final int threads = 2;
+    final int queueSize = 2;
+    final int concurrentVerifications = 100;
+    final Duration verificationTime = Duration.ofMillis(20);
+    signatureVerificationExecutor =
+        new SignatureVerificationExecutor(threads, queueSize, meterRegistry);
+    whenVerified(
+        () -> {
+          Thread.sleep(verificationTime.toMillis());
+          return true;
+        });
+
+    final AtomicInteger rejected = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<Duration>> latencies = new ArrayList<>();
+    for (int i = 0; i < concurrentVerifications; i++) {
+      latencies.add(
+          callers.submit(
+              () -> {
+                start.await();
+                final long begin = System.nanoTime();
+                try {
+                  signatureVerificationExecutor.verify(PARSED_JWT, verifier);
+                } catch (final RejectedExecutionException rejectedExecutionException) {
+                  rejected.incrementAndGet();
+                }
+                return Duration.ofNanos(System.nanoTime() - begin);
+              }));
+    }
+    start.countDown();
+
+    Duration maximumLatency = Duration.ZERO;
+    for (final Future<Duration> latency : latencies) {
+      final Duration duration = latency.get(30, TimeUnit.SECONDS);
+      maximumLatency = duration.compareTo(maximumLatency) > 0 ? duration : maximumLatency;
+    }
+
+    // without a bound the last verification waits for all others, 50 verification times
+    Assertions.assertTrue(rejected.get() > 0);
+    Assertions.assertTrue(
+        maximumLatency.compareTo(verificationTime.multipliedBy(25)) < 0,
+        "maximum latency " + maximumLatency);
+  }
+
+  private void whenVerified(final Verification verification) throws JOSEException {
+    Mockito.when(
+            verifier.verify(
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+        .thenAnswer(invocation -> verification.verify());
+  }
+
+  private void awaitQueued(final int queued) throws InterruptedException {
+    while (meterRegistry.get("edc.oauth2.token.verify.queued").gauge().value() < queued) {
+      Thread.sleep(1);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Verification {
+    boolean verify() throws Exception;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationRule;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares running the registered rules as a stream, as done before the rules were compiled into
+ * a {@link TokenValidationRulePipeline}, with the pipeline, for a valid and an expired token.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main TokenValidationRulePipelineBenchmark -prof gc} on the
+ * test classpath to include the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidationRulePipelineBenchmark {
+  private static final String AUDIENCE = "audience";
+  private static final Map<String, Object> ADDITIONAL = Map.of("issuerConnector", "connector");
+
+  private List<TokenValidationRule> rules;
+  private TokenValidationRulePipeline pipeline;
+  private ClaimToken validToken;
+  private ClaimToken expiredToken;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Instant now = Instant.now();
+    final Clock clock = Clock.fixed(now, Clock.systemUTC().getZone());
+
+    rules =
+        List.of(
+            new AudValidationRule(AUDIENCE, new Monitor() {}),
+            new ExpValidationRule(clock),
+            new IatValidationRule(clock),
+            new NbfValidationRule(Duration.ofSeconds(10), clock),
+            new IdsValidationRule(false));
+    pipeline = new TokenValidationRulePipeline(rules, false, new SimpleMeterRegistry());
+
+    validToken = token(now.minusSeconds(60), now.plusSeconds(60));
+    expiredToken = token(now.minusSeconds(120), now.minusSeconds(60));
+  }
+
+  @Benchmark
+  public List<String> streamValidToken() {
+    return stream(validToken);
+  }
+
+  @Benchmark
+  public List<String> pipelineValidToken() {
+    return pipeline.check(validToken, ADDITIONAL);
+  }
+
+  @Benchmark
+  public List<String> streamExpiredToken() {
+    return stream(expiredToken);
+  }
+
+  @Benchmark
+  public List<String> pipelineExpiredToken() {
+    return pipeline.check(expiredToken, ADDITIONAL);
+  }
+
+  private List<String> stream(final ClaimToken claimToken) {
+    return new ArrayList<>(rules).stream()
+        .map(rule -> rule.checkRule(claimToken, ADDITIONAL))
+        .filter(Result::failed)
+        .map(Result::getFailureMessages)
+        .flatMap(Collection::stream)
+        .collect(Collectors.toList());
+  }
+
+  private static ClaimToken token(final Instant issuedAt, final Instant expiresAt) {
+    return ClaimToken.Builder.newInstance()
+        .claim("aud", List.of(AUDIENCE))
+        .claim("iat", Date.from(issuedAt))
+        .claim("nbf", Date.from(issuedAt))
+        .claim("exp", Date.from(expiresAt))
+        .build();
+  }
+}
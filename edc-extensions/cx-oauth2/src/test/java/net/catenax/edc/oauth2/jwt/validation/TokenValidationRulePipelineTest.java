@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.jwt.TokenValidationRule;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+class TokenValidationRulePipelineTest {
+
+  private final ClaimToken claimToken = ClaimToken.Builder.newInstance().build();
+
+  private MeterRegistry meterRegistry;
+
+  // Mocks
+  private AudValidationRule audValidationRule;
+  private ExpValidationRule expValidationRule;
+  private IdsValidationRule idsValidationRule;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    audValidationRule = Mockito.mock(AudValidationRule.class);
+    expValidationRule = Mockito.mock(ExpValidationRule.class);
+    idsValidationRule = Mockito.mock(IdsValidationRule.class);
+
+    succeed(audValidationRule);
+    succeed(expValidationRule);
+    succeed(idsValidationRule);
+  }
+
+  @Test
+  void testTimestampRulesRunFirst() {
+    final TokenValidationRulePipeline pipeline =
+        new TokenValidationRulePipeline(
+            List.of(idsValidationRule, audValidationRule, expValidationRule), false, meterRegistry);
+
+    Assertions.assertEquals(
+        List.of(expValidationRule, audValidationRule, idsValidationRule), pipeline.getRules());
+  }
+
+  @Test
+  void testSuccess() {
+    final TokenValidationRulePipeline pipeline =
+        new TokenValidationRulePipeline(
+            List.of(audValidationRule, expValidationRule, idsValidationRule), false, meterRegistry);
+
+    final List<String> errors = pipeline.check(claimToken, Map.of());
+
+    Assertions.assertTrue(errors.isEmpty());
+    final InOrder inOrder =
+        Mockito.inOrder(expValidationRule, audValidationRule, idsValidationRule);
+    inOrder.verify(expValidationRule).checkRule(claimToken, Map.of());
+    inOrder.verify(audValidationRule).checkRule(claimToken, Map.of());
+    inOrder.verify(idsValidationRule).checkRule(claimToken, Map.of());
+  }
+
+  @Test
+  void testStopsAtFirstFailure() {
+    fail(expValidationRule, "expired");
+    fail(audValidationRule, "wrong audience");
+    final TokenValidationRulePipeline pipeline =
+        new TokenValidationRulePipeline(
+            List.of(audValidationRule, expValidationRule, idsValidationRule), false, meterRegistry);
+
+    final List<String> errors = pipeline.check(claimToken, null);
+
+    Assertions.assertEquals(List.of("expired"), errors);
+    Mockito.verifyNoInteractions(audValidationRule, idsValidationRule);
+  }
+
+  @Test
+  void testFullDiagnosticsReportsAllFailures() {
+    fail(expValidationRule, "expired");
+    fail(audValidationRule, "wrong audience");
+    final TokenValidationRulePipeline pipeline =
+        new TokenValidationRulePipeline(
+            List.of(audValidationRule, expValidationRule, idsValidationRule), true, meterRegistry);
+
+    final List<String> errors = pipeline.check(claimToken, null);
+
+    Assertions.assertEquals(List.of("expired", "wrong audience"), errors);
+    Mockito.verify(idsValidationRule).checkRule(claimToken, null);
+  }
+
+  @Test
+  void testRuleTimersTaggedByOutcome() {
+    fail(audValidationRule, "wrong audience");
+    final TokenValidationRulePipeline pipeline =
+        new TokenValidationRulePipeline(
+            List.of(audValidationRule, expValidationRule), false, meterRegistry);
+
+    pipeline.check(claimToken, null);
+
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get("edc.oauth2.token.rule")
+            .tag("rule", expValidationRule.getClass().getSimpleName())
+            .tag("outcome", "success")
+            .timer()
+            .count());
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get("edc.oauth2.token.rule")
+            .tag("rule", audValidationRule.getClass().getSimpleName())
+            .tag("outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  private static void succeed(final TokenValidationRule rule) {
+    Mockito.when(rule.checkRule(Mockito.any(), Mockito.any()))
+        .thenReturn(Result.success());
+  }
+
+  private static void fail(final TokenValidationRule rule, final String message) {
+    Mockito.when(rule.checkRule(Mockito.any(), Mockito.any()))
+        .thenReturn(Result.failure(message));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.catenax.edc.oauth2.jwk.StaticJwkPublicKeyResolver;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validates a DAPS token with the rules registered by the {@link JwtValidationExtension} and a key
+ * set held in memory, with and without the verified token cache. Without the cache every call
+ * parses the token and verifies its signature.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main TokenValidationServiceBenchmark -prof gc} on the test
+ * classpath to include the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidationServiceBenchmark {
+  private static final String KEY_ID = "default";
+  private static final String AUDIENCE = "http://connector/api/v1/ids/data";
+  private static final String CONNECTOR = "http://connector/BPNL000000000000";
+
+  @Param({"0", "1000"})
+  private int cacheSize;
+
+  private TokenValidationServiceImpl tokenValidationService;
+  private TokenRepresentation tokenRepresentation;
+
+  @Setup(Level.Trial)
+  public void setUp() throws NoSuchAlgorithmException, JOSEException {
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+    final StaticJwkPublicKeyResolver resolver =
+        new StaticJwkPublicKeyResolver(Map.of(KEY_ID, keyPair.getPublic()));
+    resolver.synchronizeKeys();
+
+    final Clock clock = Clock.systemUTC();
+    final Duration notBeforeLeeway = Duration.ofSeconds(10);
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final TokenValidationRulePipeline rulePipeline =
+        new TokenValidationRulePipeline(
+            List.of(
+                new AudValidationRule(AUDIENCE, new Monitor() {}),
+                new ExpValidationRule(clock),
+                new IatValidationRule(clock),
+                new NbfValidationRule(notBeforeLeeway, clock),
+                new IdsValidationRule(false),
+                new JtiValidationRule(
+                    new JtiReplayCache(clock, Duration.ofMinutes(1), 64, 10000))),
+            false,
+            meterRegistry);
+
+    tokenValidationService =
+        new TokenValidationServiceImpl(
+            resolver,
+            rulePipeline,
+            new VerifiedTokenCache(clock, notBeforeLeeway, cacheSize, meterRegistry),
+            meterRegistry);
+
+    tokenRepresentation =
+        TokenRepresentation.Builder.newInstance()
+            .token(token(keyPair))
+            .additional(Map.of("issuerConnector", CONNECTOR))
+            .build();
+  }
+
+  @Benchmark
+  public Result<ClaimToken> validate() {
+    return tokenValidationService.validate(tokenRepresentation);
+  }
+
+  private static String token(final KeyPair keyPair) throws JOSEException {
+    final Instant now = Instant.now();
+    final JWSHeader header =
+        new JWSHeader.Builder(JWSAlgorithm.RS256)
+            .keyID(KEY_ID)
+            .type(new JOSEObjectType("at+jwt"))
+            .build();
+    final JWTClaimsSet claims =
+        new JWTClaimsSet.Builder()
+            .issuer("http://daps")
+            .subject("client")
+            .audience(AUDIENCE)
+            .issueTime(Date.from(now))
+            .notBeforeTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+            .jwtID(UUID.randomUUID().toString())
+            .claim("scope", "idsc:IDS_CONNECTOR_ATTRIBUTES_ALL")
+            .claim("client_id", "client")
+            .claim("referringConnector", CONNECTOR)
+            .claim("@type", "ids:DatPayload")
+            .claim("@context", "https://w3id.org/idsa/contexts/context.jsonld")
+            .claim("securityProfile", "idsc:BASE_SECURITY_PROFILE")
+            .build();
+
+    final SignedJWT signedJwt = new SignedJWT(header, claims);
+    signedJwt.sign(new RSASSASigner(keyPair.getPrivate()));
+
+    return signedJwt.serialize();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+
+package net.catenax.edc.oauth2.jwt.validation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import net.catenax.edc.oauth2.jwt.decorator.JWTClaimNames;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class VerifiedTokenCacheTest {
+  private static final String TOKEN = "header.payload.signature";
+  private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+  private static final Duration LEEWAY = Duration.ofSeconds(10);
+
+  private Clock clock;
+  private MeterRegistry meterRegistry;
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @BeforeEach
+  void setUp() {
+    clock = Mockito.mock(Clock.class);
+    meterRegistry = new SimpleMeterRegistry();
+    verifiedTokenCache = new VerifiedTokenCache(clock, LEEWAY, 2, meterRegistry);
+
+    Mockito.when(clock.instant()).thenReturn(NOW);
+  }
+
+  @Test
+  void testHitUntilExpirationMinusLeeway() {
+    verifiedTokenCache.put(TOKEN, claimToken(NOW.plusSeconds(60)), resultToken());
+
+    Assertions.assertNotNull(verifiedTokenCache.get(TOKEN));
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(50));
+    Assertions.assertNull(verifiedTokenCache.get(TOKEN));
+  }
+
+  @Test
+  void testTokenWithoutExpirationNotCached() {
+    verifiedTokenCache.put(
+        TOKEN, ClaimToken.Builder.newInstance().claims(Map.of()).build(), resultToken());
+
+    Assertions.assertNull(verifiedTokenCache.get(TOKEN));
+  }
+
+  @Test
+  void testMaximumSize() {
+    verifiedTokenCache.put("a", claimToken(NOW.plusSeconds(60)), resultToken());
+    verifiedTokenCache.put("b", claimToken(NOW.plusSeconds(60)), resultToken());
+    verifiedTokenCache.put("c", claimToken(NOW.plusSeconds(60)), resultToken());
+
+    Assertions.assertNull(verifiedTokenCache.get("c"));
+  }
+
+  @Test
+  void testExpiredTokensEvictedWhenFull() {
+    verifiedTokenCache.put("a", claimToken(NOW.plusSeconds(30)), resultToken());
+    verifiedTokenCache.put("b", claimToken(NOW.plusSeconds(60)), resultToken());
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(20));
+    verifiedTokenCache.put("c", claimToken(NOW.plusSeconds(60)), resultToken());
+
+    Assertions.assertNotNull(verifiedTokenCache.get("b"));
+    Assertions.assertNotNull(verifiedTokenCache.get("c"));
+    Assertions.assertEquals(2, meterRegistry.get("edc.oauth2.token.cache.size").gauge().value());
+  }
+
+  @Test
+  void testTokenRemovedByGetNotEvictedAgainAfterPut() {
+    verifiedTokenCache.put(TOKEN, claimToken(NOW.plusSeconds(30)), resultToken());
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(20));
+    Assertions.assertNull(verifiedTokenCache.get(TOKEN));
+    verifiedTokenCache.put(TOKEN, claimToken(NOW.plusSeconds(60)), resultToken());
+    verifiedTokenCache.put("a", claimToken(NOW.plusSeconds(60)), resultToken());
+
+    Assertions.assertNotNull(verifiedTokenCache.get(TOKEN));
+  }
+
+  @Test
+  void testDisabled() {
+    verifiedTokenCache = new VerifiedTokenCache(clock, LEEWAY, 0, new SimpleMeterRegistry());
+    verifiedTokenCache.put(TOKEN, claimToken(NOW.plusSeconds(60)), resultToken());
+
+    Assertions.assertNull(verifiedTokenCache.get(TOKEN));
+  }
+
+  @Test
+  void testHitRatioMetric() {
+    verifiedTokenCache.put(TOKEN, claimToken(NOW.plusSeconds(60)), resultToken());
+    verifiedTokenCache.get(TOKEN);
+    verifiedTokenCache.get("unknown");
+
+    Assertions.assertEquals(
+        0.5, meterRegistry.get("edc.oauth2.token.cache.hit.ratio").gauge().value());
+  }
+
+  private static ClaimToken claimToken(final Instant expiration) {
+    return ClaimToken.Builder.newInstance()
+        .claims(Map.of(JWTClaimNames.EXPIRATION_TIME, Date.from(expiration)))
+        .build();
+  }
+
+  private static ClaimToken resultToken() {
+    return ClaimToken.Builder.newInstance().build();
+  }
+}
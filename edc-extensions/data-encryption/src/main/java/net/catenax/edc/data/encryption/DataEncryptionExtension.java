@@ -13,8 +13,13 @@
  */
 package net.catenax.edc.data.encryption;
 
+import io.micrometer.core.instrument.Metrics;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.stream.Collectors;
 import net.catenax.edc.data.encryption.encrypter.AesDataEncrypterConfiguration;
 import net.catenax.edc.data.encryption.encrypter.DataEncrypterFactory;
@@ -49,11 +54,18 @@ public class DataEncryptionExtension implements ServiceExtension {
   @EdcSetting public static final String CACHING_SECONDS = "edc.data.encryption.caching.seconds";
   public static final int CACHING_SECONDS_DEFAULT = 3600;
 
+  @EdcSetting
+  public static final String KEY_TAGGING_ENABLED = "edc.data.encryption.key.tagging.enabled";
+  public static final boolean KEY_TAGGING_ENABLED_DEFAULT = false;
+
+  private static final String KEY_REFRESH_THREAD_NAME = "data-encryption-key-refresh";
+
   private static final CryptoKeyFactory cryptoKeyFactory = new CryptoKeyFactoryImpl();
 
   private Monitor monitor;
   private Vault vault;
   private ServiceExtensionContext context;
+  private ExecutorService keyRefreshExecutorService;
 
   @Override
   public String name() {
@@ -96,7 +108,10 @@ public class DataEncryptionExtension implements ServiceExtension {
     this.context = context;
     this.monitor = context.getMonitor();
     this.vault = context.getService(Vault.class);
-    final DataEncrypterFactory factory = new DataEncrypterFactory(vault, monitor, cryptoKeyFactory);
+    this.keyRefreshExecutorService = Executors.newSingleThreadExecutor(keyRefreshThreadFactory());
+    final DataEncrypterFactory factory =
+        new DataEncrypterFactory(
+            vault, monitor, cryptoKeyFactory, keyRefreshExecutorService, Metrics.globalRegistry);
 
     final DataEncrypter dataEncrypter;
     final String algorithm = context.getSetting(ENCRYPTION_ALGORITHM, ENCRYPTION_ALGORITHM_DEFAULT);
@@ -119,6 +134,19 @@ public class DataEncryptionExtension implements ServiceExtension {
     context.registerService(DataEncrypter.class, dataEncrypter);
   }
 
+  @Override
+  public void shutdown() {
+    Optional.ofNullable(keyRefreshExecutorService).ifPresent(ExecutorService::shutdownNow);
+  }
+
+  private static ThreadFactory keyRefreshThreadFactory() {
+    return runnable -> {
+      final Thread thread = new Thread(runnable, KEY_REFRESH_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
   private static AesDataEncrypterConfiguration createAesConfiguration(
       ServiceExtensionContext context) {
     final String key = context.getSetting(ENCRYPTION_KEY_SET, null);
@@ -128,8 +156,10 @@ public class DataEncryptionExtension implements ServiceExtension {
 
     final boolean cachingEnabled = context.getSetting(CACHING_ENABLED, CACHING_ENABLED_DEFAULT);
     final int cachingSeconds = context.getSetting(CACHING_SECONDS, CACHING_SECONDS_DEFAULT);
+    final boolean keyTaggingEnabled =
+        context.getSetting(KEY_TAGGING_ENABLED, KEY_TAGGING_ENABLED_DEFAULT);
 
     return new AesDataEncrypterConfiguration(
-        key, cachingEnabled, Duration.ofSeconds(cachingSeconds));
+        key, cachingEnabled, Duration.ofSeconds(cachingSeconds), keyTaggingEnabled);
   }
 }
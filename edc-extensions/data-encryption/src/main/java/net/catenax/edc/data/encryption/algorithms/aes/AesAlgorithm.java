@@ -16,10 +16,14 @@ package net.catenax.edc.data.encryption.algorithms.aes;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import lombok.NonNull;
@@ -28,62 +32,100 @@ import net.catenax.edc.data.encryption.data.CryptoDataFactory;
 import net.catenax.edc.data.encryption.data.DecryptedData;
 import net.catenax.edc.data.encryption.data.EncryptedData;
 import net.catenax.edc.data.encryption.key.AesKey;
-import net.catenax.edc.data.encryption.util.ArrayUtil;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
 public class AesAlgorithm implements CryptoAlgorithm<AesKey> {
 
   private static final String AES_GCM = "AES/GCM/NoPadding";
   private static final String AES = "AES";
-  private static final Object MONITOR = new Object();
+  private static final int TAG_LENGTH_BITS = 16 * 8; /* =128 */
+
+  private static final Provider PROVIDER = new BouncyCastleProvider();
+
+  /** Ciphers are reused by their thread, each operation only initializes the cipher. */
+  private static final ThreadLocal<Cipher> CIPHER = new ThreadLocal<>();
+
+  /** Key specs of the keys used by a thread, released when a key is no longer referenced. */
+  private static final ThreadLocal<Map<AesKey, SecretKeySpec>> KEY_SPECS =
+      ThreadLocal.withInitial(WeakHashMap::new);
 
   @NonNull private final CryptoDataFactory cryptoDataFactory;
-  private AesInitializationVectorIterator initializationVectorIterator;
+
+  /**
+   * Initialization vectors are allocated per thread, so that encryptions run in parallel. Each
+   * vector starts with random bytes of its own, so vectors of different threads are as unlikely to
+   * repeat as vectors of one thread.
+   */
+  private final ThreadLocal<AesInitializationVectorIterator> initializationVectorIterator =
+      ThreadLocal.withInitial(AesInitializationVectorIterator::new);
 
   public AesAlgorithm(CryptoDataFactory cryptoDataFactory) {
     this.cryptoDataFactory = cryptoDataFactory;
-    this.initializationVectorIterator = new AesInitializationVectorIterator();
   }
 
   @Override
-  public synchronized EncryptedData encrypt(DecryptedData data, AesKey key)
+  public EncryptedData encrypt(DecryptedData data, AesKey key)
       throws IllegalBlockSizeException, BadPaddingException, InvalidKeyException,
           NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException {
 
-    final byte[] initializationVector;
-    synchronized (MONITOR) {
-      if (!initializationVectorIterator.hasNext()) {
-        initializationVectorIterator = new AesInitializationVectorIterator();
-      }
+    final byte[] initializationVector = nextInitializationVector();
 
-      initializationVector = initializationVectorIterator.next();
-    }
-
-    Cipher cipher = Cipher.getInstance(AES_GCM, new BouncyCastleProvider());
-    final SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(), AES);
+    final Cipher cipher = cipher();
     final GCMParameterSpec gcmParameterSpec =
-        new GCMParameterSpec(16 * 8 /* =128 */, initializationVector);
-    cipher.init(Cipher.ENCRYPT_MODE, keySpec, gcmParameterSpec);
-    byte[] encrypted = cipher.doFinal(data.getBytes());
-    byte[] encryptedWithVector = ArrayUtil.concat(initializationVector, encrypted);
+        new GCMParameterSpec(TAG_LENGTH_BITS, initializationVector);
+    cipher.init(Cipher.ENCRYPT_MODE, keySpec(key), gcmParameterSpec);
+    final byte[] bytes = data.getBytes();
+    final int vectorSize = initializationVector.length;
+    byte[] encryptedWithVector = new byte[vectorSize + cipher.getOutputSize(bytes.length)];
+    System.arraycopy(initializationVector, 0, encryptedWithVector, 0, vectorSize);
+    try {
+      cipher.doFinal(bytes, 0, bytes.length, encryptedWithVector, vectorSize);
+    } catch (ShortBufferException shortBufferException) {
+      // the buffer is sized by the cipher itself
+      throw new IllegalStateException(shortBufferException);
+    }
 
     return cryptoDataFactory.encryptedFromBytes(encryptedWithVector);
   }
 
+  private byte[] nextInitializationVector() {
+    if (!initializationVectorIterator.get().hasNext()) {
+      initializationVectorIterator.set(new AesInitializationVectorIterator());
+    }
+
+    return initializationVectorIterator.get().next();
+  }
+
   @Override
   public DecryptedData decrypt(EncryptedData data, AesKey key)
       throws IllegalBlockSizeException, BadPaddingException, InvalidKeyException,
           NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException {
     byte[] encryptedWithVector = data.getBytes();
-    byte[] initializationVector = ArrayUtil.subArray(encryptedWithVector, 0, 16);
-    byte[] encrypted = ArrayUtil.subArray(encryptedWithVector, 16, encryptedWithVector.length - 16);
+    final int vectorSize = AesInitializationVectorIterator.VECTOR_SIZE;
+    if (encryptedWithVector.length < vectorSize) {
+      throw new IllegalBlockSizeException("Encrypted data is shorter than the vector");
+    }
 
-    Cipher cipher = Cipher.getInstance(AES_GCM, new BouncyCastleProvider());
-    final SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(), AES);
+    final Cipher cipher = cipher();
     final GCMParameterSpec gcmParameterSpec =
-        new GCMParameterSpec(16 * 8 /* =128 */, initializationVector);
-    cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmParameterSpec);
-    byte[] decryptedData = cipher.doFinal(encrypted);
+        new GCMParameterSpec(TAG_LENGTH_BITS, encryptedWithVector, 0, vectorSize);
+    cipher.init(Cipher.DECRYPT_MODE, keySpec(key), gcmParameterSpec);
+    byte[] decryptedData =
+        cipher.doFinal(encryptedWithVector, vectorSize, encryptedWithVector.length - vectorSize);
     return cryptoDataFactory.decryptedFromBytes(decryptedData);
   }
+
+  private static Cipher cipher() throws NoSuchPaddingException, NoSuchAlgorithmException {
+    Cipher cipher = CIPHER.get();
+    if (cipher == null) {
+      cipher = Cipher.getInstance(AES_GCM, PROVIDER);
+      CIPHER.set(cipher);
+    }
+
+    return cipher;
+  }
+
+  private static SecretKeySpec keySpec(AesKey key) {
+    return KEY_SPECS.get().computeIfAbsent(key, k -> new SecretKeySpec(k.getBytes(), AES));
+  }
 }
@@ -13,10 +13,8 @@
  */
 package net.catenax.edc.data.encryption.algorithms.aes;
 
-import java.security.SecureRandom;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import lombok.SneakyThrows;
 import net.catenax.edc.data.encryption.util.ArrayUtil;
 
 public class AesInitializationVectorIterator implements Iterator<byte[]> {
@@ -52,11 +50,9 @@ public class AesInitializationVectorIterator implements Iterator<byte[]> {
     return ArrayUtil.concat(random, counter.getBytes());
   }
 
-  @SneakyThrows
   public byte[] getNextRandom() {
-    SecureRandom random = SecureRandom.getInstanceStrong();
     byte[] newVector = new byte[RANDOM_SIZE];
-    random.nextBytes(newVector);
+    InitializationVectorRandom.nextBytes(newVector);
     return newVector;
   }
 }
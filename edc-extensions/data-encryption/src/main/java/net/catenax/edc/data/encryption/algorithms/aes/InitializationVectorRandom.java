@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.data.encryption.algorithms.aes;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Source of the random part of the initialization vectors. Each thread uses a DRBG of its own,
+ * seeded from the system entropy source when first used and reseeded every {@link
+ * #RESEED_INTERVAL}. Generating random bytes neither waits for the entropy source nor for other
+ * threads.
+ */
+class InitializationVectorRandom {
+  static final Duration RESEED_INTERVAL = Duration.ofMinutes(10);
+
+  private static final String DRBG = "DRBG";
+  private static final int SECURITY_STRENGTH = 256;
+
+  private static final ThreadLocal<InitializationVectorRandom> THREAD_RANDOM =
+      ThreadLocal.withInitial(InitializationVectorRandom::new);
+
+  private final SecureRandom secureRandom;
+  private long reseedAt;
+
+  private InitializationVectorRandom() {
+    try {
+      this.secureRandom =
+          SecureRandom.getInstance(
+              DRBG,
+              DrbgParameters.instantiation(
+                  SECURITY_STRENGTH, DrbgParameters.Capability.RESEED_ONLY, null));
+    } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new IllegalStateException(noSuchAlgorithmException);
+    }
+
+    this.reseedAt = System.nanoTime() + RESEED_INTERVAL.toNanos();
+  }
+
+  /** Fills the bytes with random bytes from the DRBG of the calling thread. */
+  static void nextBytes(final byte[] bytes) {
+    THREAD_RANDOM.get().generate(bytes);
+  }
+
+  private void generate(final byte[] bytes) {
+    final long now = System.nanoTime();
+    if (now - reseedAt >= 0) {
+      secureRandom.reseed();
+      reseedAt = now + RESEED_INTERVAL.toNanos();
+    }
+
+    secureRandom.nextBytes(bytes);
+  }
+}
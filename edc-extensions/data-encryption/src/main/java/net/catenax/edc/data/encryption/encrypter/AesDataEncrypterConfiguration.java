@@ -23,4 +23,5 @@ public class AesDataEncrypterConfiguration {
   @NonNull String keySetAlias;
   boolean cachingEnabled;
   @NonNull Duration cachingDuration;
+  boolean keyTaggingEnabled;
 }
@@ -30,6 +30,7 @@ import net.catenax.edc.data.encryption.data.DecryptedData;
 import net.catenax.edc.data.encryption.data.EncryptedData;
 import net.catenax.edc.data.encryption.key.AesKey;
 import net.catenax.edc.data.encryption.provider.KeyProvider;
+import org.bouncycastle.util.encoders.Base64;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.transfer.dataplane.spi.security.DataEncrypter;
@@ -43,6 +44,9 @@ public class AesDataEncrypterImpl implements DataEncrypter {
   private final CryptoAlgorithm<AesKey> algorithm;
   private final CryptoDataFactory cryptoDataFactory;
 
+  /** Whether encrypted data is wrapped in a {@link KeyTaggedEnvelope}. */
+  private final boolean keyTaggingEnabled;
+
   @Override
   public String encrypt(String value) {
     DecryptedData decryptedData = cryptoDataFactory.decryptedFromText(value);
@@ -50,7 +54,11 @@ public class AesDataEncrypterImpl implements DataEncrypter {
 
     try {
       EncryptedData encryptedData = algorithm.encrypt(decryptedData, key);
-      return encryptedData.getBase64();
+      if (!keyTaggingEnabled) {
+        return encryptedData.getBase64();
+      }
+
+      return Base64.toBase64String(KeyTaggedEnvelope.wrap(key, encryptedData.getBytes()));
     } catch (IllegalBlockSizeException
         | BadPaddingException
         | InvalidKeyException
@@ -65,14 +73,11 @@ public class AesDataEncrypterImpl implements DataEncrypter {
   public String decrypt(String value) {
     EncryptedData encryptedData = cryptoDataFactory.encryptedFromBase64(value);
 
-    return keyProvider
-        .getDecryptionKeySet()
-        .map(key -> decrypt(encryptedData, key))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
+    return KeyTaggedEnvelope.unwrap(encryptedData.getBytes())
+        .flatMap(this::decryptTagged)
+        .or(() -> decryptUntagged(encryptedData))
         .map(DecryptedData::getBytes)
         .map(String::new)
-        .findFirst()
         .orElseThrow(
             () ->
                 new EdcException(
@@ -80,6 +85,29 @@ public class AesDataEncrypterImpl implements DataEncrypter {
                         + ": Failed to decrypt data. This can happen if the key set is empty, contains invalid keys, the decryption key rotated out of the key set or because the data was encrypted by a different algorithm."));
   }
 
+  /** Tries only the keys matching the fingerprint of the envelope. */
+  private Optional<DecryptedData> decryptTagged(KeyTaggedEnvelope.Tagged tagged) {
+    final EncryptedData encryptedData = cryptoDataFactory.encryptedFromBytes(tagged.getEncrypted());
+
+    return keyProvider
+        .getDecryptionKeySet()
+        .filter(key -> KeyTaggedEnvelope.fingerprint(key) == tagged.getFingerprint())
+        .map(key -> decrypt(encryptedData, key))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .findFirst();
+  }
+
+  /** Tries every key, for data encrypted before keys were tagged or without tagging. */
+  private Optional<DecryptedData> decryptUntagged(EncryptedData encryptedData) {
+    return keyProvider
+        .getDecryptionKeySet()
+        .map(key -> decrypt(encryptedData, key))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .findFirst();
+  }
+
   private Optional<DecryptedData> decrypt(EncryptedData data, AesKey key) {
     try {
       return Optional.of(encryptionStrategy.decrypt(data, key));
@@ -14,6 +14,10 @@
 
 package net.catenax.edc.data.encryption.encrypter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.time.Clock;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import net.catenax.edc.data.encryption.algorithms.CryptoAlgorithm;
 import net.catenax.edc.data.encryption.algorithms.aes.AesAlgorithm;
@@ -38,6 +42,16 @@ public class DataEncrypterFactory {
   private final Monitor monitor;
   private final CryptoKeyFactory keyFactory;
 
+  /** Executor the cached keys are refreshed on. */
+  private final Executor keyRefreshExecutor;
+
+  private final MeterRegistry meterRegistry;
+
+  /** Refreshes cached keys on the calling thread and records no metrics. */
+  public DataEncrypterFactory(Vault vault, Monitor monitor, CryptoKeyFactory keyFactory) {
+    this(vault, monitor, keyFactory, Runnable::run, new CompositeMeterRegistry());
+  }
+
   public DataEncrypter createNoneEncrypter() {
     return new DataEncrypter() {
       @Override
@@ -57,12 +71,25 @@ public class DataEncrypterFactory {
         new AesKeyProvider(vault, configuration.getKeySetAlias(), keyFactory);
 
     if (configuration.isCachingEnabled()) {
-      keyProvider = new CachingKeyProvider<>(keyProvider, configuration.getCachingDuration());
+      keyProvider =
+          new CachingKeyProvider<>(
+              keyProvider,
+              configuration.getCachingDuration(),
+              Clock.systemUTC(),
+              keyRefreshExecutor,
+              meterRegistry,
+              configuration.getKeySetAlias());
     }
 
     final CryptoDataFactory cryptoDataFactory = new CryptoDataFactoryImpl();
     final CryptoAlgorithm<AesKey> algorithm = new AesAlgorithm(cryptoDataFactory);
 
-    return new AesDataEncrypterImpl(algorithm, monitor, keyProvider, algorithm, cryptoDataFactory);
+    return new AesDataEncrypterImpl(
+        algorithm,
+        monitor,
+        keyProvider,
+        algorithm,
+        cryptoDataFactory,
+        configuration.isKeyTaggingEnabled());
   }
 }
@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.data.encryption.encrypter;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import lombok.Value;
+import net.catenax.edc.data.encryption.key.AesKey;
+import net.catenax.edc.data.encryption.util.ArrayUtil;
+
+/**
+ * Envelope of encrypted data, naming the key the data was encrypted with.
+ *
+ * <p>The envelope starts with the version byte, followed by the first {@value #FINGERPRINT_SIZE}
+ * bytes of the SHA-256 hash of the key and the encrypted data. The fingerprint only narrows down
+ * the keys to try, different keys may share a fingerprint.
+ */
+class KeyTaggedEnvelope {
+  static final byte VERSION = 1;
+  static final int FINGERPRINT_SIZE = 4;
+  static final int HEADER_SIZE = 1 + FINGERPRINT_SIZE;
+
+  private static final String SHA_256 = "SHA-256";
+
+  /** Fingerprints of the keys used by a thread, released when a key is no longer referenced. */
+  private static final ThreadLocal<Map<AesKey, Integer>> FINGERPRINTS =
+      ThreadLocal.withInitial(WeakHashMap::new);
+
+  private KeyTaggedEnvelope() {}
+
+  static int fingerprint(AesKey key) {
+    return FINGERPRINTS.get().computeIfAbsent(key, KeyTaggedEnvelope::hash);
+  }
+
+  static byte[] wrap(AesKey key, byte[] encrypted) {
+    final byte[] header =
+        ByteBuffer.allocate(HEADER_SIZE).put(VERSION).putInt(fingerprint(key)).array();
+    return ArrayUtil.concat(header, encrypted);
+  }
+
+  /**
+   * Reads the envelope. Untagged data may start with the version byte by chance, so callers must
+   * fall back to reading the data as untagged if none of the fingerprinted keys decrypts it.
+   */
+  static Optional<Tagged> unwrap(byte[] data) {
+    if (data.length <= HEADER_SIZE || data[0] != VERSION) {
+      return Optional.empty();
+    }
+
+    final int fingerprint = ByteBuffer.wrap(data, 1, FINGERPRINT_SIZE).getInt();
+    final byte[] encrypted = ArrayUtil.subArray(data, HEADER_SIZE, data.length - HEADER_SIZE);
+    return Optional.of(new Tagged(fingerprint, encrypted));
+  }
+
+  private static int hash(AesKey key) {
+    try {
+      return ByteBuffer.wrap(MessageDigest.getInstance(SHA_256).digest(key.getBytes())).getInt();
+    } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(noSuchAlgorithmException);
+    }
+  }
+
+  @Value
+  static class Tagged {
+    int fingerprint;
+    byte[] encrypted;
+  }
+}
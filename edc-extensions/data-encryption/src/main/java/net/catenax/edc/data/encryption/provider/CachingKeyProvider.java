@@ -11,63 +11,191 @@
  *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
  *
  */
-
 package net.catenax.edc.data.encryption.provider;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.Value;
 import net.catenax.edc.data.encryption.key.CryptoKey;
 
+/**
+ * Caches the keys of the decorated provider.
+ *
+ * <p>After three quarters of the cache expiration the keys are reloaded in the background, so
+ * callers usually never wait for the vault. Expired keys are still handed out for one more cache
+ * expiration while they are reloaded in the background, so an unavailable vault does not fail
+ * every caller. Only when there are no keys yet, or the keys expired for longer than that, the
+ * keys are loaded on the calling thread, by one caller at a time.
+ */
 public class CachingKeyProvider<T extends CryptoKey> implements KeyProvider<T> {
+  private static final long REFRESH_AHEAD_NUMERATOR = 3;
+  private static final long REFRESH_AHEAD_DENOMINATOR = 4;
+  private static final String METRIC_KEY_AGE = "edc.data.encryption.keys.age";
+  private static final String TAG_ALIAS = "alias";
+
+  private final Object loadMonitor = new Object();
 
   @NonNull private final KeyProvider<T> decoratedProvider;
   @NonNull private final Clock clock;
   @NonNull private final Duration cacheExpiration;
 
-  private CachedKeys<T> cachedKeys;
+  /** Executor the background refreshes run on. */
+  @NonNull private final Executor refreshExecutor;
+
+  /**
+   * Immutable snapshot of the cached keys. Loads publish a complete new snapshot, so readers never
+   * block and always see an encryption key and decryption keys of the same load.
+   */
+  private final AtomicReference<CachedKeys<T>> cachedKeys = new AtomicReference<>();
+
+  private final AtomicBoolean refreshing = new AtomicBoolean();
 
   public CachingKeyProvider(KeyProvider<T> keyProvider, Duration cacheExpiration) {
     this(keyProvider, cacheExpiration, Clock.systemUTC());
   }
 
+  /** Refreshes the keys on the calling thread and records no metrics. */
   public CachingKeyProvider(KeyProvider<T> keyProvider, Duration cacheExpiration, Clock clock) {
+    this(keyProvider, cacheExpiration, clock, Runnable::run, new CompositeMeterRegistry(), "");
+  }
+
+  /**
+   * @param keySetAlias alias of the cached key set, distinguishes the key age gauges of several
+   *     providers
+   */
+  public CachingKeyProvider(
+      KeyProvider<T> keyProvider,
+      Duration cacheExpiration,
+      Clock clock,
+      Executor refreshExecutor,
+      MeterRegistry meterRegistry,
+      String keySetAlias) {
 
     this.decoratedProvider = keyProvider;
     this.cacheExpiration = cacheExpiration;
     this.clock = clock;
+    this.refreshExecutor = refreshExecutor;
+
+    Gauge.builder(METRIC_KEY_AGE, this, CachingKeyProvider::keyAgeSeconds)
+        .tag(TAG_ALIAS, keySetAlias)
+        .baseUnit("seconds")
+        .register(meterRegistry);
   }
 
   @Override
   public T getEncryptionKey() {
-    checkCache();
-    return cachedKeys.getEncryptionKey();
+    return getCachedKeys().getEncryptionKey();
   }
 
   @Override
   public Stream<T> getDecryptionKeySet() {
-    checkCache();
-    return cachedKeys.getDecryptionKeys().stream();
+    return getCachedKeys().getDecryptionKeys().stream();
+  }
+
+  private CachedKeys<T> getCachedKeys() {
+    final Instant now = clock.instant();
+    final CachedKeys<T> keys = cachedKeys.get();
+    if (keys == null || !now.isBefore(keys.getStaleUntil())) {
+      return loadOnce(keys);
+    }
+
+    if (!now.isBefore(keys.getRefreshAt())) {
+      refresh();
+    }
+
+    return keys;
+  }
+
+  /** Loads the keys on the calling thread, unless another caller just loaded them. */
+  private CachedKeys<T> loadOnce(final CachedKeys<T> outdatedKeys) {
+    synchronized (loadMonitor) {
+      final CachedKeys<T> keys = cachedKeys.get();
+      if (keys != outdatedKeys) {
+        return keys;
+      }
+
+      final CachedKeys<T> loadedKeys = load();
+      cachedKeys.set(loadedKeys);
+      return loadedKeys;
+    }
   }
 
-  private void checkCache() {
-    if (cachedKeys == null || cachedKeys.expiration.isBefore(clock.instant())) {
-      T encryptionKey = decoratedProvider.getEncryptionKey();
-      List<T> decryptionKeys = decoratedProvider.getDecryptionKeySet().collect(Collectors.toList());
-      cachedKeys =
-          new CachedKeys<>(encryptionKey, decryptionKeys, clock.instant().plus(cacheExpiration));
+  /** Starts a background refresh, unless one is in flight already. */
+  private void refresh() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      refreshExecutor.execute(this::refreshKeys);
+    } catch (RejectedExecutionException rejectedExecutionException) {
+      refreshing.set(false);
     }
   }
 
+  private void refreshKeys() {
+    final CachedKeys<T> refreshedKeys = cachedKeys.get();
+    try {
+      cachedKeys.set(load());
+    } catch (RuntimeException runtimeException) {
+      // keep the cached keys and retry after a quarter of the cache expiration
+      final Instant retryAt =
+          clock.instant().plus(cacheExpiration.dividedBy(REFRESH_AHEAD_DENOMINATOR));
+      cachedKeys.compareAndSet(refreshedKeys, refreshedKeys.withRefreshAt(retryAt));
+    } finally {
+      refreshing.set(false);
+    }
+  }
+
+  private CachedKeys<T> load() {
+    final Instant loadedAt = clock.instant();
+    final T encryptionKey = decoratedProvider.getEncryptionKey();
+    final List<T> decryptionKeys =
+        decoratedProvider.getDecryptionKeySet().collect(Collectors.toUnmodifiableList());
+    final Duration refreshAfter =
+        cacheExpiration.multipliedBy(REFRESH_AHEAD_NUMERATOR).dividedBy(REFRESH_AHEAD_DENOMINATOR);
+
+    return new CachedKeys<>(
+        encryptionKey,
+        decryptionKeys,
+        loadedAt,
+        loadedAt.plus(refreshAfter),
+        loadedAt.plus(cacheExpiration.multipliedBy(2)));
+  }
+
+  private double keyAgeSeconds() {
+    final CachedKeys<T> keys = cachedKeys.get();
+    if (keys == null) {
+      return Double.NaN;
+    }
+
+    return Duration.between(keys.getLoadedAt(), clock.instant()).toMillis() / 1000d;
+  }
+
   @Value
   private static class CachedKeys<T> {
     T encryptionKey;
     List<T> decryptionKeys;
-    @NonNull Instant expiration;
+    @NonNull Instant loadedAt;
+    @NonNull Instant refreshAt;
+
+    /** Keys are handed out until then, and loaded on the calling thread afterwards. */
+    @NonNull Instant staleUntil;
+
+    CachedKeys<T> withRefreshAt(Instant refreshAt) {
+      return new CachedKeys<>(encryptionKey, decryptionKeys, loadedAt, refreshAt, staleUntil);
+    }
   }
 }
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.data.encryption.algorithms.aes;
+
+import java.util.concurrent.TimeUnit;
+import net.catenax.edc.data.encryption.data.CryptoDataFactory;
+import net.catenax.edc.data.encryption.data.CryptoDataFactoryImpl;
+import net.catenax.edc.data.encryption.data.DecryptedData;
+import net.catenax.edc.data.encryption.data.EncryptedData;
+import net.catenax.edc.data.encryption.key.AesKey;
+import net.catenax.edc.data.encryption.key.CryptoKeyFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encryptions and decryptions per second of a transfer token sized payload. Encryptions are also
+ * measured from several threads, the throughput should grow with the threads up to the number of
+ * cores.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main AesAlgorithmBenchmark -prof gc} on the test classpath
+ * to include the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesAlgorithmBenchmark {
+  private static final String KEY = "OSD+3NcZAmS/6UXbq6NL8UL+aQIAJDLL7BE2rBX5MtA=";
+
+  private final CryptoDataFactory cryptoDataFactory = new CryptoDataFactoryImpl();
+  private final AesAlgorithm aesAlgorithm = new AesAlgorithm(cryptoDataFactory);
+
+  private AesKey key;
+  private DecryptedData decryptedData;
+  private EncryptedData encryptedData;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    key = new CryptoKeyFactoryImpl().fromBase64(KEY);
+    decryptedData =
+        cryptoDataFactory.decryptedFromText(
+            "{\"dataAddress\":{\"properties\":{\"type\":\"HttpData\","
+                + "\"baseUrl\":\"https://backend.example.com/api/v1/data\","
+                + "\"authKey\":\"Authorization\",\"authCode\":\"Bearer 0123456789abcdef\"}}}");
+    encryptedData = aesAlgorithm.encrypt(decryptedData, key);
+  }
+
+  @Benchmark
+  public EncryptedData encrypt() throws Exception {
+    return aesAlgorithm.encrypt(decryptedData, key);
+  }
+
+  @Benchmark
+  @Threads(2)
+  public EncryptedData encrypt2Threads() throws Exception {
+    return encrypt();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public EncryptedData encrypt4Threads() throws Exception {
+    return encrypt();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public EncryptedData encryptMaxThreads() throws Exception {
+    return encrypt();
+  }
+
+  @Benchmark
+  public DecryptedData decrypt() throws Exception {
+    return aesAlgorithm.decrypt(encryptedData, key);
+  }
+}
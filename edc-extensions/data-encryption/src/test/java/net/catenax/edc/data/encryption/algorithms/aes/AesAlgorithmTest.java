@@ -13,6 +13,14 @@
  */
 package net.catenax.edc.data.encryption.algorithms.aes;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.AEADBadTagException;
+import javax.crypto.IllegalBlockSizeException;
 import lombok.SneakyThrows;
 import net.catenax.edc.data.encryption.data.CryptoDataFactory;
 import net.catenax.edc.data.encryption.data.CryptoDataFactoryImpl;
@@ -59,6 +67,64 @@ class AesAlgorithmTest {
     Assertions.assertNotEquals(result1.getBase64(), result2.getBase64());
   }
 
+  @Test
+  @SneakyThrows
+  void testConcurrentEncryptions() {
+    final int threads = 4;
+    final int encryptions = 250;
+    final AesKey aesKey = createKey(KEY_256_BIT);
+    final DecryptedData expected = cryptoDataFactory.decryptedFromText("same data");
+    final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+    final Callable<List<EncryptedData>> encrypt =
+        () -> {
+          final List<EncryptedData> encrypted = new ArrayList<>();
+          for (int i = 0; i < encryptions; i++) {
+            encrypted.add(strategy.encrypt(expected, aesKey));
+          }
+          return encrypted;
+        };
+    final List<Future<List<EncryptedData>>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      futures.add(executorService.submit(encrypt));
+    }
+
+    final List<EncryptedData> encrypted = new ArrayList<>();
+    for (final Future<List<EncryptedData>> future : futures) {
+      encrypted.addAll(future.get());
+    }
+    executorService.shutdown();
+
+    Assertions.assertEquals(
+        threads * encryptions, encrypted.stream().map(EncryptedData::getBase64).distinct().count());
+    for (final EncryptedData encryptedData : encrypted) {
+      Assertions.assertEquals(
+          expected.getBase64(), strategy.decrypt(encryptedData, aesKey).getBase64());
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void testDecryptAfterWrongKey() {
+    final AesKey aesKey = createKey(KEY_256_BIT);
+    final DecryptedData expected = cryptoDataFactory.decryptedFromText("I will be encrypted");
+    final EncryptedData encryptedResult = strategy.encrypt(expected, aesKey);
+
+    Assertions.assertThrows(
+        AEADBadTagException.class, () -> strategy.decrypt(encryptedResult, createKey(KEY_128_BIT)));
+    Assertions.assertEquals(
+        expected.getBase64(), strategy.decrypt(encryptedResult, aesKey).getBase64());
+  }
+
+  @Test
+  void testDataShorterThanVectorRejected() {
+    final EncryptedData encryptedData = cryptoDataFactory.encryptedFromBytes(new byte[4]);
+
+    Assertions.assertThrows(
+        IllegalBlockSizeException.class,
+        () -> strategy.decrypt(encryptedData, createKey(KEY_128_BIT)));
+  }
+
   @SneakyThrows
   void testKey(byte[] key) {
     final AesKey aesKey = createKey(key);
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.data.encryption.algorithms.aes;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import net.catenax.edc.data.encryption.data.CryptoDataFactory;
+import net.catenax.edc.data.encryption.data.CryptoDataFactoryImpl;
+import net.catenax.edc.data.encryption.data.DecryptedData;
+import net.catenax.edc.data.encryption.data.EncryptedData;
+import net.catenax.edc.data.encryption.key.AesKey;
+import net.catenax.edc.data.encryption.key.CryptoKeyFactoryImpl;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of a single encryption, with a provider, cipher and key spec created for each operation
+ * as {@link AesAlgorithm} used to, compared to {@link AesAlgorithm} reusing them.
+ *
+ * <p>Run with {@code org.openjdk.jmh.Main AesCipherBenchmark -prof gc}, the {@code
+ * gc.alloc.rate.norm} column shows the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesCipherBenchmark {
+  private static final String KEY = "OSD+3NcZAmS/6UXbq6NL8UL+aQIAJDLL7BE2rBX5MtA=";
+  private static final int TAG_LENGTH_BITS = 128;
+
+  private final CryptoDataFactory cryptoDataFactory = new CryptoDataFactoryImpl();
+  private final AesAlgorithm aesAlgorithm = new AesAlgorithm(cryptoDataFactory);
+
+  private AesKey key;
+  private DecryptedData decryptedData;
+  private EncryptedData encryptedData;
+  private byte[] initializationVector;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    key = new CryptoKeyFactoryImpl().fromBase64(KEY);
+    decryptedData =
+        cryptoDataFactory.decryptedFromText(
+            "{\"dataAddress\":{\"properties\":{\"type\":\"HttpData\","
+                + "\"baseUrl\":\"https://backend.example.com/api/v1/data\","
+                + "\"authKey\":\"Authorization\",\"authCode\":\"Bearer 0123456789abcdef\"}}}");
+    encryptedData = aesAlgorithm.encrypt(decryptedData, key);
+    initializationVector = new byte[AesInitializationVectorIterator.VECTOR_SIZE];
+    new SecureRandom().nextBytes(initializationVector);
+  }
+
+  /** Provider, cipher and key spec created for the operation. */
+  @Benchmark
+  public byte[] encryptNewCipher() throws Exception {
+    final Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding", new BouncyCastleProvider());
+    cipher.init(
+        Cipher.ENCRYPT_MODE,
+        new SecretKeySpec(key.getBytes(), "AES"),
+        new GCMParameterSpec(TAG_LENGTH_BITS, initializationVector));
+    return cipher.doFinal(decryptedData.getBytes());
+  }
+
+  @Benchmark
+  public EncryptedData encryptReusedCipher() throws Exception {
+    return aesAlgorithm.encrypt(decryptedData, key);
+  }
+
+  @Benchmark
+  public DecryptedData decryptReusedCipher() throws Exception {
+    return aesAlgorithm.decrypt(encryptedData, key);
+  }
+}
@@ -14,8 +14,12 @@
 package net.catenax.edc.data.encryption.algorithms.aes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import lombok.SneakyThrows;
 import net.catenax.edc.data.encryption.util.ArrayUtil;
 import org.junit.jupiter.api.Assertions;
@@ -39,6 +43,48 @@ class AesInitializationVectorIteratorTest {
     Assertions.assertEquals(vectorCount, distinctVectors);
   }
 
+  @Test
+  void testRandomFollowedByCounter() {
+    AesInitializationVectorIterator iterator = new AesInitializationVectorIterator();
+
+    byte[] first = iterator.next();
+    byte[] second = iterator.next();
+
+    Assertions.assertEquals(AesInitializationVectorIterator.VECTOR_SIZE, first.length);
+    Assertions.assertEquals("00000001", counterHex(first));
+    Assertions.assertEquals("00000002", counterHex(second));
+  }
+
+  @Test
+  @SneakyThrows
+  void testDistinctRandomsAcrossThreads() {
+    final int threads = 4;
+    final int vectorCount = 1000;
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+    List<Future<List<String>>> futures = new ArrayList<>();
+    for (var i = 0; i < threads; i++) {
+      futures.add(
+          executorService.submit(
+              () -> {
+                AesInitializationVectorIterator iterator = new AesInitializationVectorIterator();
+                List<String> randoms = new ArrayList<>();
+                for (var j = 0; j < vectorCount; j++) {
+                  randoms.add(ArrayUtil.byteArrayToHex(iterator.getNextRandom()));
+                }
+                return randoms;
+              }));
+    }
+
+    List<String> randoms = new ArrayList<>();
+    for (Future<List<String>> future : futures) {
+      randoms.addAll(future.get());
+    }
+    executorService.shutdown();
+
+    Assertions.assertEquals(threads * vectorCount, randoms.stream().distinct().count());
+  }
+
   @Test
   @SneakyThrows
   void testHasNextTrueOnCounterContinuing() {
@@ -68,4 +114,9 @@ class AesInitializationVectorIteratorTest {
     Mockito.when(counter.isMaxed()).thenReturn(true);
     Assertions.assertThrows(NoSuchElementException.class, iterator::next);
   }
+
+  private static String counterHex(byte[] vector) {
+    return ArrayUtil.byteArrayToHex(
+        Arrays.copyOfRange(vector, AesInitializationVectorIterator.RANDOM_SIZE, vector.length));
+  }
 }
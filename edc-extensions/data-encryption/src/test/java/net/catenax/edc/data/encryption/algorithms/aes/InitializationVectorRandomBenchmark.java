@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.data.encryption.algorithms.aes;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the random part of an initialization vector from a {@link
+ * SecureRandom#getInstanceStrong()} looked up per vector, as before, with {@link
+ * InitializationVectorRandom}, from one and from four threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InitializationVectorRandomBenchmark {
+
+  @Benchmark
+  public byte[] strongInstancePerVector() throws NoSuchAlgorithmException {
+    final byte[] bytes = new byte[AesInitializationVectorIterator.RANDOM_SIZE];
+    SecureRandom.getInstanceStrong().nextBytes(bytes);
+    return bytes;
+  }
+
+  @Benchmark
+  public byte[] threadDrbg() {
+    final byte[] bytes = new byte[AesInitializationVectorIterator.RANDOM_SIZE];
+    InitializationVectorRandom.nextBytes(bytes);
+    return bytes;
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] strongInstancePerVector4Threads() throws NoSuchAlgorithmException {
+    return strongInstancePerVector();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] threadDrbg4Threads() {
+    return threadDrbg();
+  }
+}
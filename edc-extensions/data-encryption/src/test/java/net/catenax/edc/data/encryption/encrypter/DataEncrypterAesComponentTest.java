@@ -25,6 +25,8 @@ import net.catenax.edc.data.encryption.key.CryptoKeyFactory;
 import net.catenax.edc.data.encryption.key.CryptoKeyFactoryImpl;
 import net.catenax.edc.data.encryption.provider.AesKeyProvider;
 import net.catenax.edc.data.encryption.provider.KeyProvider;
+import org.bouncycastle.util.encoders.Base64;
+import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
 import org.eclipse.dataspaceconnector.transfer.dataplane.spi.security.DataEncrypter;
@@ -59,8 +61,7 @@ class DataEncrypterAesComponentTest {
     algorithm = new AesAlgorithm(cryptoDataFactory);
     keyProvider = new AesKeyProvider(vault, "foo", cryptoKeyFactory);
 
-    dataEncrypter =
-        new AesDataEncrypterImpl(algorithm, monitor, keyProvider, algorithm, cryptoDataFactory);
+    dataEncrypter = newDataEncrypter(true);
   }
 
   @Test
@@ -96,4 +97,87 @@ class DataEncrypterAesComponentTest {
 
     Assertions.assertEquals(expectedResult, result);
   }
+
+  @Test
+  void testTaggedRoundTrip() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_256_BIT_BASE_64);
+
+    var encryptedResult = dataEncrypter.encrypt("hello");
+    var result = dataEncrypter.decrypt(encryptedResult);
+
+    Assertions.assertEquals(KeyTaggedEnvelope.VERSION, Base64.decode(encryptedResult)[0]);
+    Assertions.assertEquals("hello", result);
+  }
+
+  @Test
+  void testUntaggedRoundTrip() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_256_BIT_BASE_64);
+    dataEncrypter = newDataEncrypter(false);
+
+    var encryptedResult = dataEncrypter.encrypt("hello");
+    var result = dataEncrypter.decrypt(encryptedResult);
+
+    Assertions.assertEquals("hello", result);
+  }
+
+  @Test
+  void testTaggedDataWithWrongKeyFails() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_256_BIT_BASE_64);
+    final String encryptedResult = dataEncrypter.encrypt("hello");
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_128_BIT_BASE_64);
+
+    Assertions.assertThrows(EdcException.class, () -> dataEncrypter.decrypt(encryptedResult));
+  }
+
+  @Test
+  void testUntaggedDataWithWrongKeyFails() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_256_BIT_BASE_64);
+    final String encryptedResult = newDataEncrypter(false).encrypt("hello");
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_128_BIT_BASE_64);
+
+    Assertions.assertThrows(EdcException.class, () -> dataEncrypter.decrypt(encryptedResult));
+  }
+
+  @Test
+  void testTaggedDecryptionAfterKeyRotation() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_256_BIT_BASE_64);
+    final String encryptedResult = dataEncrypter.encrypt("hello");
+    Mockito.when(vault.resolveSecret(Mockito.anyString()))
+        .thenReturn(String.format("%s, %s", KEY_128_BIT_BASE_64, KEY_256_BIT_BASE_64));
+
+    var result = dataEncrypter.decrypt(encryptedResult);
+
+    Assertions.assertEquals("hello", result);
+  }
+
+  @Test
+  @SneakyThrows
+  void testTaggedDecryptionTriesFingerprintedKeyOnly() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString())).thenReturn(KEY_256_BIT_BASE_64);
+    final String encryptedResult = dataEncrypter.encrypt("hello");
+    Mockito.when(vault.resolveSecret(Mockito.anyString()))
+        .thenReturn(String.format("%s, %s", KEY_128_BIT_BASE_64, KEY_256_BIT_BASE_64));
+    algorithm = Mockito.spy(algorithm);
+    dataEncrypter = newDataEncrypter(true);
+
+    dataEncrypter.decrypt(encryptedResult);
+
+    Mockito.verify(algorithm, Mockito.times(1)).decrypt(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void testUntaggedDataDecrypted() {
+    Mockito.when(vault.resolveSecret(Mockito.anyString()))
+        .thenReturn(String.format("%s, %s", KEY_128_BIT_BASE_64, KEY_256_BIT_BASE_64));
+    final String untagged = newDataEncrypter(false).encrypt("hello");
+
+    var result = dataEncrypter.decrypt(untagged);
+
+    Assertions.assertEquals("hello", result);
+  }
+
+  private DataEncrypter newDataEncrypter(boolean keyTaggingEnabled) {
+    return new AesDataEncrypterImpl(
+        algorithm, monitor, keyProvider, algorithm, cryptoDataFactory, keyTaggingEnabled);
+  }
 }
@@ -13,6 +13,8 @@
  */
 package net.catenax.edc.data.encryption.encrypter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import net.catenax.edc.data.encryption.key.CryptoKeyFactoryImpl;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
@@ -69,8 +71,21 @@ class DataEncrypterFactoryTest {
     Mockito.verify(vault, Mockito.times(2)).resolveSecret(KEY_SET_ALIAS);
   }
 
+  @Test
+  void testKeyAgeMetricTaggedWithAlias() {
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    factory =
+        new DataEncrypterFactory(
+            vault, monitor, new CryptoKeyFactoryImpl(), Runnable::run, meterRegistry);
+
+    factory.createAesEncrypter(newConfiguration(true));
+
+    Assertions.assertNotNull(
+        meterRegistry.find("edc.data.encryption.keys.age").tag("alias", KEY_SET_ALIAS).gauge());
+  }
+
   private AesDataEncrypterConfiguration newConfiguration(boolean isCachingEnabled) {
     return new AesDataEncrypterConfiguration(
-        KEY_SET_ALIAS, isCachingEnabled, Duration.ofMinutes(1));
+        KEY_SET_ALIAS, isCachingEnabled, Duration.ofMinutes(1), true);
   }
 }
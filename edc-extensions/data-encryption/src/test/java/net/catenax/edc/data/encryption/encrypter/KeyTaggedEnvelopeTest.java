@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2022 Mercedes-Benz Tech Innovation GmbH
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Mercedes-Benz Tech Innovation GmbH - Initial API and Implementation
+ *
+ */
+package net.catenax.edc.data.encryption.encrypter;
+
+import java.util.Optional;
+import net.catenax.edc.data.encryption.key.AesKey;
+import net.catenax.edc.data.encryption.key.CryptoKeyFactoryImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class KeyTaggedEnvelopeTest {
+
+  private static final byte[] ENCRYPTED = {9, 8, 7, 6, 5, 4, 3, 2, 1};
+
+  private final AesKey key128Bit =
+      new CryptoKeyFactoryImpl().fromBase64("7h6sh6t6tchCmNnHjK2kFA==");
+  private final AesKey key256Bit =
+      new CryptoKeyFactoryImpl().fromBase64("OSD+3NcZAmS/6UXbq6NL8UL+aQIAJDLL7BE2rBX5MtA=");
+
+  @Test
+  void testWrapUnwrap() {
+    final byte[] envelope = KeyTaggedEnvelope.wrap(key128Bit, ENCRYPTED);
+
+    final Optional<KeyTaggedEnvelope.Tagged> tagged = KeyTaggedEnvelope.unwrap(envelope);
+
+    Assertions.assertTrue(tagged.isPresent());
+    Assertions.assertEquals(
+        KeyTaggedEnvelope.fingerprint(key128Bit), tagged.get().getFingerprint());
+    Assertions.assertArrayEquals(ENCRYPTED, tagged.get().getEncrypted());
+  }
+
+  @Test
+  void testFingerprintsOfDifferentKeysDiffer() {
+    Assertions.assertNotEquals(
+        KeyTaggedEnvelope.fingerprint(key128Bit), KeyTaggedEnvelope.fingerprint(key256Bit));
+  }
+
+  @Test
+  void testOtherVersionNotUnwrapped() {
+    final byte[] envelope = KeyTaggedEnvelope.wrap(key128Bit, ENCRYPTED);
+    envelope[0] = KeyTaggedEnvelope.VERSION + 1;
+
+    Assertions.assertTrue(KeyTaggedEnvelope.unwrap(envelope).isEmpty());
+  }
+
+  @Test
+  void testHeaderOnlyNotUnwrapped() {
+    final byte[] envelope = KeyTaggedEnvelope.wrap(key128Bit, new byte[0]);
+
+    Assertions.assertTrue(KeyTaggedEnvelope.unwrap(envelope).isEmpty());
+  }
+}
@@ -13,11 +13,21 @@
  */
 package net.catenax.edc.data.encryption.provider;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import net.catenax.edc.data.encryption.key.CryptoKey;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -25,10 +35,15 @@ import org.mockito.Mockito;
 @SuppressWarnings("FieldCanBeLocal")
 class CachingKeyProviderTest {
 
+  private static final Instant NOW = Instant.parse("2022-10-01T10:00:00Z");
+  private static final String KEY_SET_ALIAS = "keySetAlias";
+
   private CachingKeyProvider<CryptoKey> cachingKeyProvider;
 
   private CryptoKey encryptionKey;
   private CryptoKey decryptionKey;
+  private List<Runnable> refreshes;
+  private MeterRegistry meterRegistry;
 
   // mocks
   private KeyProvider<CryptoKey> decoratedProvider;
@@ -42,6 +57,8 @@ class CachingKeyProviderTest {
     clock = Mockito.mock(Clock.class);
     encryptionKey = Mockito.mock(CryptoKey.class);
     decryptionKey = Mockito.mock(CryptoKey.class);
+    refreshes = new ArrayList<>();
+    meterRegistry = new SimpleMeterRegistry();
 
     cachingKeyProvider =
         new CachingKeyProvider<CryptoKey>(decoratedProvider, cacheExpiration, clock);
@@ -92,4 +109,135 @@ class CachingKeyProviderTest {
     Mockito.verify(decoratedProvider, Mockito.times(2)).getDecryptionKeySet();
     Mockito.verify(decoratedProvider, Mockito.times(2)).getEncryptionKey();
   }
+
+  @Test
+  void testRefreshedAheadInBackground() {
+    cachingKeyProvider = newCachingKeyProvider();
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    cachingKeyProvider.getEncryptionKey();
+
+    final Duration refreshAfter = cacheExpiration.multipliedBy(3).dividedBy(4);
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(refreshAfter));
+    cachingKeyProvider.getEncryptionKey();
+
+    Mockito.verify(decoratedProvider, Mockito.times(1)).getEncryptionKey();
+    Assertions.assertEquals(1, refreshes.size());
+
+    runRefreshes();
+
+    Mockito.verify(decoratedProvider, Mockito.times(2)).getEncryptionKey();
+  }
+
+  @Test
+  void testStaleKeysServedWhileRefreshing() {
+    cachingKeyProvider = newCachingKeyProvider();
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    cachingKeyProvider.getEncryptionKey();
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(cacheExpiration.plusSeconds(1)));
+
+    Assertions.assertEquals(encryptionKey, cachingKeyProvider.getEncryptionKey());
+    Mockito.verify(decoratedProvider, Mockito.times(1)).getEncryptionKey();
+  }
+
+  @Test
+  void testOneRefreshInFlight() {
+    cachingKeyProvider = newCachingKeyProvider();
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    cachingKeyProvider.getEncryptionKey();
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(cacheExpiration));
+    cachingKeyProvider.getEncryptionKey();
+    cachingKeyProvider.getEncryptionKey();
+    cachingKeyProvider.getDecryptionKeySet();
+
+    Assertions.assertEquals(1, refreshes.size());
+  }
+
+  @Test
+  void testLoadedOnCallingThreadAfterStalePeriod() {
+    cachingKeyProvider = newCachingKeyProvider();
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    cachingKeyProvider.getEncryptionKey();
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(cacheExpiration.multipliedBy(2)));
+    cachingKeyProvider.getEncryptionKey();
+
+    Mockito.verify(decoratedProvider, Mockito.times(2)).getEncryptionKey();
+    Assertions.assertTrue(refreshes.isEmpty());
+  }
+
+  @Test
+  void testFailedRefreshKeepsKeys() {
+    cachingKeyProvider = newCachingKeyProvider();
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    cachingKeyProvider.getEncryptionKey();
+    Mockito.when(decoratedProvider.getEncryptionKey()).thenThrow(new RuntimeException("vault"));
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plus(cacheExpiration));
+    cachingKeyProvider.getEncryptionKey();
+    runRefreshes();
+
+    Assertions.assertEquals(encryptionKey, cachingKeyProvider.getEncryptionKey());
+    // retried after a quarter of the cache expiration only
+    Assertions.assertTrue(refreshes.isEmpty());
+  }
+
+  @Test
+  void testConcurrentCallersLoadOnce() throws Exception {
+    final int callers = 8;
+    final CountDownLatch loading = new CountDownLatch(1);
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    Mockito.when(decoratedProvider.getEncryptionKey())
+        .thenAnswer(
+            (i) -> {
+              Assertions.assertTrue(loading.await(10, TimeUnit.SECONDS));
+              return encryptionKey;
+            });
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(callers);
+    final List<Future<CryptoKey>> futures = new ArrayList<>();
+    for (int i = 0; i < callers; i++) {
+      futures.add(executorService.submit(() -> cachingKeyProvider.getEncryptionKey()));
+    }
+    loading.countDown();
+    for (final Future<CryptoKey> future : futures) {
+      Assertions.assertEquals(encryptionKey, future.get(10, TimeUnit.SECONDS));
+    }
+    executorService.shutdown();
+
+    Mockito.verify(decoratedProvider, Mockito.times(1)).getEncryptionKey();
+  }
+
+  @Test
+  void testKeyAgeMetric() {
+    cachingKeyProvider =
+        new CachingKeyProvider<>(
+            decoratedProvider, cacheExpiration, clock, Runnable::run, meterRegistry, KEY_SET_ALIAS);
+    Mockito.when(clock.instant()).thenReturn(NOW);
+    cachingKeyProvider.getEncryptionKey();
+
+    Mockito.when(clock.instant()).thenReturn(NOW.plusSeconds(1));
+
+    Assertions.assertEquals(
+        1d,
+        meterRegistry.get("edc.data.encryption.keys.age").tag("alias", KEY_SET_ALIAS).gauge().value(),
+        0.001);
+  }
+
+  private CachingKeyProvider<CryptoKey> newCachingKeyProvider() {
+    return new CachingKeyProvider<>(
+        decoratedProvider,
+        cacheExpiration,
+        clock,
+        refreshes::add,
+        new SimpleMeterRegistry(),
+        KEY_SET_ALIAS);
+  }
+
+  private void runRefreshes() {
+    final List<Runnable> pending = new ArrayList<>(refreshes);
+    refreshes.clear();
+    pending.forEach(Runnable::run);
+  }
 }
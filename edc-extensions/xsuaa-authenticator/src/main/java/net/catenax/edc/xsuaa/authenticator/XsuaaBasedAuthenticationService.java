@@ -6,6 +6,7 @@ import com.sap.cloud.security.token.Token;
 import com.sap.cloud.security.token.validation.CombiningValidator;
 import com.sap.cloud.security.token.validation.ValidationResult;
 import com.sap.cloud.security.token.validation.validators.JwtValidatorBuilder;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -17,13 +18,24 @@ public class XsuaaBasedAuthenticationService implements AuthenticationService {
   private static final String BEARER_TOKEN_AUTH_HEADER_NAME = "Authorization";
 
   private final OAuth2ServiceConfiguration serviceConfig;
-  // logging service
-  private final Monitor monitor;
+  // validation runs on every data management API request: valid tokens are logged sampled,
+  // invalid ones rate-limited only, so that no burst of failures goes unnoticed
+  private final SampledLog validLog;
+  private final SampledLog invalidLog;
 
   public XsuaaBasedAuthenticationService(
       Monitor monitor, OAuth2ServiceConfiguration serviceConfig) {
-    this.monitor = monitor;
+    this(monitor, serviceConfig, SampledLog.DEFAULT_SAMPLE_RATE, SampledLog.DEFAULT_INTERVAL);
+  }
+
+  public XsuaaBasedAuthenticationService(
+      Monitor monitor,
+      OAuth2ServiceConfiguration serviceConfig,
+      long logSampleRate,
+      Duration logSampleInterval) {
     this.serviceConfig = serviceConfig;
+    this.validLog = new SampledLog(monitor, logSampleRate, logSampleInterval);
+    this.invalidLog = new SampledLog(monitor, 1, logSampleInterval);
   }
 
   @Override
@@ -38,28 +50,24 @@ public class XsuaaBasedAuthenticationService implements AuthenticationService {
   }
 
   private boolean validateBearerToken(Object authorizationHeader) {
-    ValidationResult result;
-
     try {
       // Token Validators - supports tokens issued by xsuaa and ias
       Token token = Token.create(authorizationHeader.toString());
       CombiningValidator<Token> validators =
           JwtValidatorBuilder.getInstance(this.serviceConfig).build();
-      result = validators.validate(token);
+      ValidationResult result = validators.validate(token);
 
       if (result.isErroneous()) {
-        this.monitor.severe("Invalid token" + result.getErrorDescription());
+        invalidLog.severe(() -> "Invalid token: " + result.getErrorDescription());
         return false;
       }
       // SecurityContext caches only successfully validated tokens within the same thread
       SecurityContext.setToken(token);
-      this.monitor.info("Token validated successfully");
+      validLog.info(() -> "Token validated successfully");
+      return result.isValid();
     } catch (Exception e) {
-      this.monitor.severe("Token Invalid Exception: " + e.getMessage());
-      e.printStackTrace();
+      invalidLog.severe(() -> "Token Invalid Exception: " + e.getMessage(), e);
       return false;
     }
-
-    return result.isValid();
   }
 }
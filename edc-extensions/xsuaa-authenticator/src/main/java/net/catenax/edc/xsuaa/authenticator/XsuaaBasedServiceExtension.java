@@ -7,9 +7,11 @@ import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
 import com.sap.cloud.security.config.OAuth2ServiceConfigurationBuilder;
 import com.sap.cloud.security.config.Service;
 import com.sap.cloud.security.config.cf.CFConstants;
+import java.time.Duration;
 import java.util.Objects;
 import net.catenax.edc.xsuaa.authorize.XsuaaAuthorizationRequestFilter;
 import org.eclipse.dataspaceconnector.api.auth.AuthenticationService;
+import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.EdcSetting;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Inject;
 import org.eclipse.dataspaceconnector.runtime.metamodel.annotation.Provides;
 import org.eclipse.dataspaceconnector.spi.WebService;
@@ -20,6 +22,13 @@ import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 @Provides(AuthenticationService.class)
 public class XsuaaBasedServiceExtension implements ServiceExtension {
 
+  @EdcSetting
+  private static final String LOG_SAMPLE_RATE = "edc.api.auth.xsuaa.log.sample.rate";
+
+  @EdcSetting
+  private static final String LOG_SAMPLE_INTERVAL =
+      "edc.api.auth.xsuaa.log.sample.interval"; // in seconds
+
   @Inject private WebService webService;
 
   @Override
@@ -35,7 +44,17 @@ public class XsuaaBasedServiceExtension implements ServiceExtension {
       serviceConfig = getServiceConfigFromEnvironmentVariables();
     } else serviceConfig = Environments.getCurrent().getXsuaaConfiguration();
 
-    var authService = new XsuaaBasedAuthenticationService(monitor, serviceConfig);
+    long logSampleRate =
+        context.getConfig().getLong(LOG_SAMPLE_RATE, SampledLog.DEFAULT_SAMPLE_RATE);
+    Duration logSampleInterval =
+        Duration.ofSeconds(
+            context
+                .getConfig()
+                .getLong(LOG_SAMPLE_INTERVAL, SampledLog.DEFAULT_INTERVAL.toSeconds()));
+
+    var authService =
+        new XsuaaBasedAuthenticationService(
+            monitor, serviceConfig, logSampleRate, logSampleInterval);
     context.registerService(AuthenticationService.class, authService);
 
     webService.registerResource("data", new XsuaaAuthorizationRequestFilter(authService));
@@ -7,6 +7,7 @@ import com.sap.cloud.security.config.cf.CFConstants;
 import com.sap.cloud.security.test.JwtGenerator;
 import com.sap.cloud.security.test.SecurityTestRule;
 import com.sap.cloud.security.token.Token;
+import java.time.Duration;
 import java.util.*;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.junit.jupiter.api.Assertions;
@@ -67,4 +68,35 @@ public class XsuaaAuthenticationServiceTest {
         "Authorization", new ArrayList<String>(Collections.singleton(authorizationHeaderValue)));
     Assertions.assertNotNull(httpHeaders.get("Authorization"));
   }
+
+  @Test
+  void testInvalidTokenLogNotSampled() {
+    XsuaaBasedAuthenticationService xsuaaBasedAuthenticationService =
+        new XsuaaBasedAuthenticationService(monitor, serviceConfiguration, 2, Duration.ZERO);
+    httpHeaders.put("Authorization", new ArrayList<String>(Collections.singleton("Bearer x")));
+
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertFalse(xsuaaBasedAuthenticationService.isAuthenticated(httpHeaders));
+    }
+
+    Mockito.verify(monitor, Mockito.times(3))
+        .severe(Mockito.anyString(), Mockito.any(Throwable.class));
+    Mockito.verifyNoMoreInteractions(monitor);
+  }
+
+  @Test
+  void testInvalidTokenLogRateLimited() {
+    XsuaaBasedAuthenticationService xsuaaBasedAuthenticationService =
+        new XsuaaBasedAuthenticationService(
+            monitor, serviceConfiguration, 2, Duration.ofSeconds(10));
+    httpHeaders.put("Authorization", new ArrayList<String>(Collections.singleton("Bearer x")));
+
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertFalse(xsuaaBasedAuthenticationService.isAuthenticated(httpHeaders));
+    }
+
+    Mockito.verify(monitor, Mockito.times(1))
+        .severe(Mockito.anyString(), Mockito.any(Throwable.class));
+    Mockito.verifyNoMoreInteractions(monitor);
+  }
 }